@@ -0,0 +1,204 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Closed-loop load scenario for the student portal read endpoints.
+ * Each simulated student repeatedly picks an endpoint (weighted like a portal session: dashboard
+ * and inbox most often) and waits for the answer before sending the next request. After a warm-up
+ * it reports throughput and p50/p90/p99/max latency, overall and per endpoint.
+ *
+ * Run against an already started server (Java 17+, no build needed):
+ *   java scripts/load/StudentPortalLoad.java --base-url http://localhost:8080 --users 400 --duration 60 \
+ *       --students 2025-00001-OA-0,2025-00002-OA-0 --label platform
+ *
+ * scripts/load/compare.sh starts the app once per thread mode and runs this scenario against each.
+ */
+public class StudentPortalLoad {
+
+    // Path template ({id} = student id) and relative weight
+    private static final Map<String, Integer> ENDPOINTS = new LinkedHashMap<>();
+    static {
+        ENDPOINTS.put("/api/student/dashboard/{id}", 30);
+        ENDPOINTS.put("/api/student/inbox/{id}/page", 15);
+        ENDPOINTS.put("/api/student/inbox/{id}/unread-count", 15);
+        ENDPOINTS.put("/api/student/account/{id}", 10);
+        ENDPOINTS.put("/api/student/grades/{id}", 10);
+        ENDPOINTS.put("/api/student/schedule/{id}", 10);
+        ENDPOINTS.put("/api/student/forms/{id}", 5);
+        ENDPOINTS.put("/api/student/grades/{id}/cumulative-gpa", 5);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        int users = Integer.parseInt(options.getOrDefault("users", "200"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "15"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        String label = options.getOrDefault("label", "run");
+        String[] students = options.getOrDefault("students", "2025-00001-OA-0,2025-00002-OA-0").split(",");
+
+        List<String> paths = new ArrayList<>(ENDPOINTS.keySet());
+        int[] cumulativeWeights = new int[paths.size()];
+        int total = 0;
+        for (int i = 0; i < paths.size(); i++) {
+            total += ENDPOINTS.get(paths.get(i));
+            cumulativeWeights[i] = total;
+        }
+        int totalWeight = total;
+
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+            .build();
+
+        System.out.printf("[%s] %d users, %ds warm-up, %ds measured, against %s%n", label, users, warmupSeconds, durationSeconds, baseUrl);
+        AtomicBoolean recording = new AtomicBoolean(false);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Recorder[] recorders = new Recorder[users];
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        for (int u = 0; u < users; u++) {
+            Recorder recorder = new Recorder(paths.size());
+            recorders[u] = recorder;
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    int pick = random.nextInt(totalWeight);
+                    int endpoint = 0;
+                    while (cumulativeWeights[endpoint] <= pick) {
+                        endpoint++;
+                    }
+                    String studentId = students[random.nextInt(students.length)].trim();
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + paths.get(endpoint).replace("{id}", studentId)))
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build();
+                    long start = System.nanoTime();
+                    boolean ok;
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        ok = response.statusCode() < 500;
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    if (recording.get()) {
+                        recorder.record(endpoint, System.nanoTime() - start, ok);
+                    }
+                }
+            });
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        recording.set(true);
+        long measuredStart = System.nanoTime();
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        recording.set(false);
+        double measuredSeconds = (System.nanoTime() - measuredStart) / 1e9;
+        running.set(false);
+        pool.shutdown();
+        pool.awaitTermination(60, TimeUnit.SECONDS);
+
+        System.out.printf("%-42s %8s %8s %9s %9s %9s %9s %7s%n", "[" + label + "] endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "errors");
+        Samples all = new Samples();
+        for (int i = 0; i < paths.size(); i++) {
+            Samples endpoint = new Samples();
+            for (Recorder recorder : recorders) {
+                endpoint.addAll(recorder.latencies.get(i));
+                endpoint.errors += recorder.errors[i];
+            }
+            all.addAll(endpoint);
+            all.errors += endpoint.errors;
+            print(paths.get(i), endpoint, measuredSeconds);
+        }
+        print("ALL", all, measuredSeconds);
+        System.exit(0);
+    }
+
+    private static void print(String name, Samples samples, double seconds) {
+        long[] sorted = samples.sorted();
+        System.out.printf("%-42s %8d %8.1f %9.1f %9.1f %9.1f %9.1f %7d%n", name, sorted.length, sorted.length / seconds,
+            percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+            sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6, samples.errors);
+    }
+
+    // Nearest-rank percentile, in milliseconds
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --option value, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    // Per-user latencies, so the hot loop never contends on a shared structure
+    private static final class Recorder {
+        private final List<LongList> latencies = new ArrayList<>();
+        private final long[] errors;
+
+        Recorder(int endpoints) {
+            for (int i = 0; i < endpoints; i++) {
+                latencies.add(new LongList());
+            }
+            errors = new long[endpoints];
+        }
+
+        void record(int endpoint, long nanos, boolean ok) {
+            if (ok) {
+                latencies.get(endpoint).add(nanos);
+            } else {
+                errors[endpoint]++;
+            }
+        }
+    }
+
+    private static class LongList {
+        long[] values = new long[1024];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    private static final class Samples extends LongList {
+        long errors;
+
+        void addAll(LongList other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
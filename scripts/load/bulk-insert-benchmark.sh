@@ -0,0 +1,126 @@
+#!/usr/bin/env bash
+# Before/after benchmark for JDBC batching of bulk schedule writes.
+#
+# Starts the app twice against the MySQL database from application.properties:
+#   batched    - the shipped settings (pooled ids, hibernate.jdbc.batch_size=50, rewriteBatchedStatements)
+#   unbatched  - hibernate.jdbc.batch_size=1 and rewriteBatchedStatements=false, i.e. one INSERT round trip per row
+# and in each mode times:
+#   - POST /api/auth/schedules/bulk with ROWS per-student rows
+#   - POST /api/auth/schedules/section-bulk for one section
+#   - POST /api/auth/schedules/course-bulk for that section's course
+# Statement counts are MySQL's global Questions and Com_insert counters read before and after each
+# call, so run it on a database nothing else is using. Every run writes to its own throw-away
+# academic year ("BENCH-...") and the rows are deleted afterwards.
+#
+# Needs java, curl and the mysql client.
+#   scripts/load/bulk-insert-benchmark.sh
+#   ROWS=5000 REPEAT=5 scripts/load/bulk-insert-benchmark.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+
+ROWS="${ROWS:-1000}"
+REPEAT="${REPEAT:-3}"
+PORT="${PORT:-8080}"
+RESULTS="${RESULTS:-target/load}"
+
+# Connection settings are taken from application.properties unless given
+props=src/main/resources/application.properties
+prop() { grep -E "^$1=" "$props" | head -n 1 | cut -d= -f2-; }
+DB_URL="${DB_URL:-$(prop spring.datasource.url)}"
+DB_USER="${DB_USER:-$(prop spring.datasource.username)}"
+DB_PASSWORD="${DB_PASSWORD:-$(prop spring.datasource.password)}"
+db_hostport=$(echo "$DB_URL" | sed -E 's#jdbc:mysql://([^/]+)/.*#\1#')
+DB_HOST="${db_hostport%%:*}"
+DB_PORT=$([ "$db_hostport" != "${db_hostport#*:}" ] && echo "${db_hostport#*:}" || echo 3306)
+DB_NAME=$(echo "$DB_URL" | sed -E 's#jdbc:mysql://[^/]+/([^?]+).*#\1#')
+
+sql() {
+    MYSQL_PWD="$DB_PASSWORD" mysql -h "$DB_HOST" -P "$DB_PORT" -u "$DB_USER" -N -B "$DB_NAME" -e "$1"
+}
+
+status() {
+    sql "SHOW GLOBAL STATUS WHERE Variable_name = '$1'" | awk '{print $2}'
+}
+
+sh mvnw -B -q -DskipTests package
+jar=$(ls target/*.jar | grep -v original | head -n 1)
+mkdir -p "$RESULTS"
+
+# rows: ROWS per-student entries at the same slot; distinct students, no faculty or room, so nothing conflicts
+bulk_rows_json() {
+    local term="$1"
+    awk -v n="$ROWS" -v term="$term" 'BEGIN {
+        printf "[";
+        for (i = 1; i <= n; i++) {
+            printf "%s{\"studentId\":\"BENCH-%06d\",\"subjectCode\":\"BENCH101\",\"description\":\"Benchmark\",", (i > 1 ? "," : ""), i;
+            printf "\"units\":3,\"lec\":3,\"lab\":0,\"day\":\"MWF\",\"startTime\":\"07:00\",\"endTime\":\"08:00\",";
+            printf "\"academicYear\":\"%s\",\"semester\":\"First Semester\"}", term;
+        }
+        printf "]";
+    }'
+}
+
+details_json() {
+    echo "{\"subjectCode\":\"BENCH101\",\"description\":\"Benchmark\",\"units\":3,\"lec\":3,\"lab\":0,\"day\":\"$2\",\"startTime\":\"07:00\",\"endTime\":\"08:00\",\"academicYear\":\"$1\",\"semester\":\"First Semester\"}"
+}
+
+# Times one POST and prints: label, HTTP status, wall ms, statements, INSERT statements
+measure() {
+    local mode="$1" label="$2" path="$3" body_file="$4"
+    local questions_before inserts_before start end code
+    questions_before=$(status Questions)
+    inserts_before=$(status Com_insert)
+    start=$(date +%s%N)
+    code=$(curl -s -o "$RESULTS/bulk-last-response.txt" -w '%{http_code}' -X POST -H 'Content-Type: application/json' \
+        --data-binary @"$body_file" "http://localhost:$PORT$path")
+    end=$(date +%s%N)
+    # The two status reads add 2 to Questions
+    printf "%-10s %-14s %6s %10.1f %11d %9d\n" "$mode" "$label" "$code" "$(awk -v ns="$((end - start))" 'BEGIN {print ns / 1000000}')" \
+        $(( $(status Questions) - questions_before - 2 )) $(( $(status Com_insert) - inserts_before )) \
+        | tee -a "$RESULTS/bulk-insert-results.txt"
+}
+
+run_mode() {
+    local mode="$1"; shift
+    echo "Starting app ($mode)..."
+    java -jar "$jar" --server.port="$PORT" --spring.jpa.show-sql=false --logging.level.org.hibernate.SQL=INFO \
+        --logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO "$@" \
+        > "$RESULTS/app-bulk-$mode.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" EXIT
+    for _ in $(seq 1 120); do
+        if curl -fs "http://localhost:$PORT/actuator/health" > /dev/null; then
+            break
+        fi
+        sleep 1
+    done
+
+    local section course
+    section="${SECTION:-$(sql "SELECT id FROM sections ORDER BY id LIMIT 1")}"
+    course="${COURSE:-$(sql "SELECT course_code FROM sections WHERE id = '$section'")}"
+    local body="$RESULTS/bulk-body.json"
+    for run in $(seq 1 "$REPEAT"); do
+        local term="BENCH-$mode-$run"
+        bulk_rows_json "$term" > "$body"
+        measure "$mode" "bulk x$ROWS" /api/auth/schedules/bulk "$body"
+        echo "{\"sectionId\":\"$section\",\"scheduleDetails\":$(details_json "$term" Tuesday)}" > "$body"
+        measure "$mode" "section-bulk" /api/auth/schedules/section-bulk "$body"
+        echo "{\"courseCode\":\"$course\",\"scheduleDetails\":$(details_json "$term" Saturday)}" > "$body"
+        measure "$mode" "course-bulk" /api/auth/schedules/course-bulk "$body"
+    done
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+    sql "DELETE FROM schedule_items WHERE academic_year LIKE 'BENCH-%'; DELETE FROM section_schedule_items WHERE academic_year LIKE 'BENCH-%'"
+}
+
+: > "$RESULTS/bulk-insert-results.txt"
+printf "%-10s %-14s %6s %10s %11s %9s\n" mode call status "wall ms" statements inserts | tee -a "$RESULTS/bulk-insert-results.txt"
+run_mode batched
+run_mode unbatched --spring.jpa.properties.hibernate.jdbc.batch_size=1 \
+    --spring.datasource.url="${DB_URL/rewriteBatchedStatements=true/rewriteBatchedStatements=false}"
+
+echo
+echo "Results are in $RESULTS/bulk-insert-results.txt"
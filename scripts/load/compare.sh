@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+# Runs the student portal load scenario against the app in platform-thread mode and then in
+# virtual-thread mode (profile "virtual-threads"), and prints both result tables.
+#
+# Needs a Java 21+ runtime (virtual threads) and the MySQL database from application.properties.
+# Both runs use the same jar, database, SQL logging settings and Hikari pool size (POOL, default 50,
+# the virtual-threads profile's maximum-pool-size); only the thread model differs. Set POOL= (empty)
+# to let each mode use its own pool size instead.
+#
+#   scripts/load/compare.sh                      # 400 users, 15s warm-up, 60s measured, 50 connections
+#   USERS=800 DURATION=120 scripts/load/compare.sh
+#   POOL=20 scripts/load/compare.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+
+USERS="${USERS:-400}"
+WARMUP="${WARMUP:-15}"
+DURATION="${DURATION:-60}"
+PORT="${PORT:-8080}"
+STUDENTS="${STUDENTS:-2025-00001-OA-0,2025-00002-OA-0}"
+RESULTS="${RESULTS:-target/load}"
+POOL="${POOL-50}"
+
+java_major=$(java -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')
+if [ "${java_major%%.*}" -lt 21 ]; then
+    echo "Java 21+ is needed for virtual threads (found $java_major)" >&2
+    exit 1
+fi
+
+sh mvnw -B -q -DskipTests package
+jar=$(ls target/*.jar | grep -v original | head -n 1)
+mkdir -p "$RESULTS"
+
+run_mode() {
+    local label="$1" profiles="$2"
+    local pool_args=()
+    if [ -n "$POOL" ]; then
+        pool_args=(--spring.datasource.hikari.maximum-pool-size="$POOL" --spring.datasource.hikari.minimum-idle="$POOL")
+    fi
+    echo "Starting app ($label)..."
+    # Statement logging serializes on the console and would dominate latency in both modes
+    java -jar "$jar" --server.port="$PORT" --spring.profiles.active="$profiles" \
+        --spring.jpa.show-sql=false --logging.level.org.hibernate.SQL=INFO \
+        --logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO ${pool_args[@]+"${pool_args[@]}"} \
+        > "$RESULTS/app-$label.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" EXIT
+
+    for _ in $(seq 1 120); do
+        if curl -fs "http://localhost:$PORT/actuator/health" > /dev/null; then
+            break
+        fi
+        sleep 1
+    done
+
+    java scripts/load/StudentPortalLoad.java --base-url "http://localhost:$PORT" --users "$USERS" \
+        --warmup "$WARMUP" --duration "$DURATION" --students "$STUDENTS" --label "$label" \
+        | tee "$RESULTS/result-$label.txt"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform default
+run_mode virtual virtual-threads
+
+echo
+echo "Results and server logs are in $RESULTS/"
@@ -9,6 +9,7 @@ import java.util.HashSet;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,29 +17,51 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oasis.model.Announcement;
 import com.oasis.model.AuthRequest;
 import com.oasis.model.AuthResponse;
+import com.oasis.model.BatchGradeEncodeRequest;
+import com.oasis.model.BatchGradeEncodeResult;
 import com.oasis.model.BulkSectionScheduleRequest;
 import com.oasis.model.BulkCourseScheduleRequest;
+import com.oasis.model.BulkEnrollmentProcessRequest;
 import com.oasis.model.Course;
 import com.oasis.model.EnrollmentRequest;
 import com.oasis.model.Faculty;
+import com.oasis.model.FacultySummary;
+import com.oasis.model.FreeSlot;
+import com.oasis.model.KeysetPage;
 import com.oasis.model.PaymentRequest;
 import com.oasis.model.ProcessEnrollmentRequest;
 import com.oasis.model.ScheduleItem;
+import com.oasis.model.SeatAvailability;
 import com.oasis.model.Section;
+import com.oasis.model.SectionSummary;
 import com.oasis.model.StudentAccount;
+import com.oasis.model.StudentAccountSummary;
 import com.oasis.model.StudentGrade;
 import com.oasis.model.Subject;
 import com.oasis.model.User;
+import com.oasis.model.UserSummary;
 import com.oasis.service.AuthService;
+import com.oasis.service.BulkEnrollmentService;
 import com.oasis.service.GradeService;
+import com.oasis.service.IdempotencyStore;
+import com.oasis.service.InboxService;
+import com.oasis.service.ListingService;
+import com.oasis.service.NotificationHub;
+import com.oasis.service.PaymentLedgerService;
+import com.oasis.service.ReferenceDataCache;
+import com.oasis.service.ReferenceDataCache.Catalog;
+import com.oasis.service.SeatReservationService;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -46,11 +69,30 @@ public class AuthController {
 
     private final AuthService authService;
     private final GradeService gradeService;
+    private final ListingService listingService;
+    private final ReferenceDataCache referenceDataCache;
+    private final InboxService inboxService;
+    private final NotificationHub notificationHub;
+    private final BulkEnrollmentService bulkEnrollmentService;
+    private final SeatReservationService seatReservationService;
+    private final PaymentLedgerService paymentLedgerService;
+    private final IdempotencyStore idempotencyStore;
 
     @Autowired
-    public AuthController(AuthService authService, GradeService gradeService) {
+    public AuthController(AuthService authService, GradeService gradeService, ListingService listingService,
+                          ReferenceDataCache referenceDataCache, InboxService inboxService, NotificationHub notificationHub,
+                          BulkEnrollmentService bulkEnrollmentService, SeatReservationService seatReservationService,
+                          PaymentLedgerService paymentLedgerService, IdempotencyStore idempotencyStore) {
         this.authService = authService;
         this.gradeService = gradeService;
+        this.listingService = listingService;
+        this.referenceDataCache = referenceDataCache;
+        this.inboxService = inboxService;
+        this.notificationHub = notificationHub;
+        this.bulkEnrollmentService = bulkEnrollmentService;
+        this.seatReservationService = seatReservationService;
+        this.paymentLedgerService = paymentLedgerService;
+        this.idempotencyStore = idempotencyStore;
     }
 
     @PostMapping("/login")
@@ -94,46 +136,122 @@ public class AuthController {
         return ResponseEntity.ok(requests);
     }
 
+    // Keyset-paginated enrollment requests: pass nextCursor back as cursor
+    @GetMapping("/enrollment/requests/page")
+    public ResponseEntity<?> getEnrollmentRequestsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String course,
+            @RequestParam(required = false) String sectionId) {
+        try {
+            return ResponseEntity.ok(listingService.getEnrollmentRequestsPage(cursor, size, status, course, sectionId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Same rows as /enrollment/requests, written from a database cursor
+    @GetMapping("/enrollment/requests/stream")
+    public ResponseEntity<StreamingResponseBody> streamEnrollmentRequests(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String course,
+            @RequestParam(required = false) String sectionId) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+            .body(out -> listingService.streamEnrollmentRequests(out, status, course, sectionId));
+    }
+
     @PutMapping("/enrollment/requests/process")
     public ResponseEntity<String> processEnrollmentRequest(@RequestBody ProcessEnrollmentRequest req) {
-        authService.processEnrollmentRequest(req.getRequestId(), req.getStatus(), req.getRemarks());
+        try {
+            authService.processEnrollmentRequest(req.getRequestId(), req.getStatus(), req.getRemarks());
+        } catch (IllegalStateException e) {
+            // Section full: nothing was changed
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
         return ResponseEntity.ok("Enrollment request processed successfully.");
     }
 
-    @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = authService.getAllUsers();
-        users.forEach(u -> u.setPassword(null)); // Hide passwords
-        return ResponseEntity.ok(users);
+    // Approve or reject by id list or by filter in one transaction; reports an outcome per request
+    @PutMapping("/enrollment/requests/process/bulk")
+    public ResponseEntity<?> processEnrollmentRequests(@RequestBody BulkEnrollmentProcessRequest req) {
+        try {
+            return ResponseEntity.ok(bulkEnrollmentService.process(req));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
+    @GetMapping("/users")
+    public ResponseEntity<List<UserSummary>> getAllUsers() {
+        return ResponseEntity.ok(authService.getUserSummaries());
+    }
+
+    // Keyset-paginated users (passwords hidden): pass nextCursor back as cursor
+    @GetMapping("/users/page")
+    public ResponseEntity<KeysetPage<User>> getUsersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String course,
+            @RequestParam(required = false) String section,
+            @RequestParam(required = false) String status) {
+        return ResponseEntity.ok(listingService.getUsersPage(cursor, size, role, course, section, status));
+    }
+
+    // Same rows as /users, written from a database cursor
+    @GetMapping("/users/stream")
+    public ResponseEntity<StreamingResponseBody> streamUsers(
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String course,
+            @RequestParam(required = false) String section,
+            @RequestParam(required = false) String status) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+            .body(out -> listingService.streamUsers(out, role, course, section, status));
+    }
+
+    // Catalog reads are version-stamped: a current If-None-Match gets 304 without a body
     @GetMapping("/courses")
-    public ResponseEntity<List<Course>> getAllCourses() {
-        return ResponseEntity.ok(authService.getAllCourses());
+    public ResponseEntity<List<Course>> getAllCourses(WebRequest webRequest) {
+        return ConditionalResponses.ifNoneMatch(webRequest, referenceDataCache.etag(Catalog.COURSES),
+            authService::getAllCourses);
     }
 
     @GetMapping("/sections")
-    public ResponseEntity<List<Section>> getSections(@RequestParam(value = "courseCode", required = false) String courseCode) {
-        if (courseCode != null && !courseCode.isEmpty()) {
-            return ResponseEntity.ok(authService.getSectionsByCourseCode(courseCode));
-        } else {
-            return ResponseEntity.ok(authService.getAllSections());
-        }
+    public ResponseEntity<List<SectionSummary>> getSections(@RequestParam(value = "courseCode", required = false) String courseCode,
+                                                            WebRequest webRequest) {
+        return ConditionalResponses.ifNoneMatch(webRequest, referenceDataCache.etag(Catalog.SECTIONS),
+            () -> authService.getSectionSummaries(courseCode));
+    }
+
+    // Seat counts come from the in-memory reservation counters, not the sections table
+    @GetMapping("/sections/availability")
+    public ResponseEntity<List<SeatAvailability>> getSeatAvailability() {
+        return ResponseEntity.ok(seatReservationService.getAvailability());
+    }
+
+    @GetMapping("/sections/{id}/availability")
+    public ResponseEntity<SeatAvailability> getSeatAvailability(@PathVariable String id) {
+        SeatAvailability availability = seatReservationService.getAvailability(id);
+        return availability != null ? ResponseEntity.ok(availability) : ResponseEntity.notFound().build();
     }
 
     @GetMapping("/subjects")
-    public ResponseEntity<List<Subject>> getAllSubjects() {
-        return ResponseEntity.ok(authService.getAllSubjects());
+    public ResponseEntity<List<Subject>> getAllSubjects(WebRequest webRequest) {
+        return ConditionalResponses.ifNoneMatch(webRequest, referenceDataCache.etag(Catalog.SUBJECTS),
+            authService::getAllSubjects);
     }
 
     @GetMapping("/subjects/by-course")
-    public ResponseEntity<List<Subject>> getSubjectsByCourse(@RequestParam String courseCode) {
-        return ResponseEntity.ok(authService.getSubjectsByCourse(courseCode));
+    public ResponseEntity<List<Subject>> getSubjectsByCourse(@RequestParam String courseCode, WebRequest webRequest) {
+        return ConditionalResponses.ifNoneMatch(webRequest, referenceDataCache.etag(Catalog.SUBJECTS),
+            () -> authService.getSubjectsByCourse(courseCode));
     }
 
     @GetMapping("/faculty")
-    public ResponseEntity<List<Faculty>> getAllFaculty() {
-        return ResponseEntity.ok(authService.getAllFaculty());
+    public ResponseEntity<List<FacultySummary>> getAllFaculty(WebRequest webRequest) {
+        return ConditionalResponses.ifNoneMatch(webRequest, referenceDataCache.etag(Catalog.FACULTY),
+            authService::getFacultySummaries);
     }
 
     // Schedule Management Endpoints
@@ -142,6 +260,47 @@ public class AuthController {
         return ResponseEntity.ok(authService.getAllSchedules());
     }
 
+    // Keyset-paginated schedules (per-student rows and section timetable): pass nextCursor back as cursor
+    @GetMapping("/schedules/page")
+    public ResponseEntity<?> getSchedulesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String academicYear,
+            @RequestParam(required = false) String semester,
+            @RequestParam(required = false) String faculty) {
+        try {
+            return ResponseEntity.ok(listingService.getSchedulesPage(cursor, size, academicYear, semester, faculty));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Same rows as /schedules, written from a database cursor
+    @GetMapping("/schedules/stream")
+    public ResponseEntity<StreamingResponseBody> streamSchedules(
+            @RequestParam(required = false) String academicYear,
+            @RequestParam(required = false) String semester,
+            @RequestParam(required = false) String faculty) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+            .body(out -> listingService.streamSchedules(out, academicYear, semester, faculty));
+    }
+
+    // Free common slots for a faculty/room/section combination, e.g.
+    // /schedules/free-slots?academicYear=2025-2026&semester=First Semester&faculty=Prof. Reyes&room=Room 101&duration=90
+    @GetMapping("/schedules/free-slots")
+    public ResponseEntity<List<FreeSlot>> getFreeSlots(
+            @RequestParam String academicYear,
+            @RequestParam String semester,
+            @RequestParam(required = false) String faculty,
+            @RequestParam(required = false) String room,
+            @RequestParam(required = false) String sectionId,
+            @RequestParam(defaultValue = "60") int duration,
+            @RequestParam(defaultValue = "MTWThFS") String days,
+            @RequestParam(defaultValue = "07:00") String from,
+            @RequestParam(defaultValue = "21:00") String to) {
+        return ResponseEntity.ok(authService.findFreeSlots(academicYear, semester, faculty, room, sectionId, days, duration, from, to));
+    }
+
     @GetMapping("/schedules/{studentId}")
     public ResponseEntity<List<ScheduleItem>> getStudentSchedules(
             @PathVariable String studentId,
@@ -168,22 +327,35 @@ public class AuthController {
         return ResponseEntity.ok("Schedule item deleted successfully.");
     }
 
+    // Bulk writes accept an Idempotency-Key: a retried request gets the first response back instead of duplicate rows
     @PostMapping("/schedules/bulk")
-    public ResponseEntity<String> createBulkSchedules(@RequestBody List<ScheduleItem> scheduleItems) {
-        authService.addBulkScheduleItems(scheduleItems);
-        return ResponseEntity.status(HttpStatus.CREATED).body("Schedule items created successfully.");
+    public ResponseEntity<String> createBulkSchedules(
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @RequestBody List<ScheduleItem> scheduleItems) {
+        return idempotencyStore.execute(idempotencyKey, "schedules/bulk", scheduleItems, () -> {
+            authService.addBulkScheduleItems(scheduleItems);
+            return ResponseEntity.status(HttpStatus.CREATED).body("Schedule items created successfully.");
+        });
     }
 
     @PostMapping("/schedules/section-bulk")
-    public ResponseEntity<String> createBulkSchedulesBySection(@RequestBody BulkSectionScheduleRequest request) {
-        int created = authService.addBulkScheduleItemsBySection(request.getSectionId(), request.getScheduleDetails());
-        return ResponseEntity.status(HttpStatus.CREATED).body("Created schedule for " + created + " students in section " + request.getSectionId());
+    public ResponseEntity<String> createBulkSchedulesBySection(
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @RequestBody BulkSectionScheduleRequest request) {
+        return idempotencyStore.execute(idempotencyKey, "schedules/section-bulk", request, () -> {
+            int created = authService.addBulkScheduleItemsBySection(request.getSectionId(), request.getScheduleDetails());
+            return ResponseEntity.status(HttpStatus.CREATED).body("Created schedule for " + created + " students in section " + request.getSectionId());
+        });
     }
 
     @PostMapping("/schedules/course-bulk")
-    public ResponseEntity<String> createBulkSchedulesByCourse(@RequestBody BulkCourseScheduleRequest request) {
-        int created = authService.addBulkScheduleItemsByCourse(request.getCourseCode(), request.getScheduleDetails());
-        return ResponseEntity.status(HttpStatus.CREATED).body("Created schedule for " + created + " students in course " + request.getCourseCode());
+    public ResponseEntity<String> createBulkSchedulesByCourse(
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @RequestBody BulkCourseScheduleRequest request) {
+        return idempotencyStore.execute(idempotencyKey, "schedules/course-bulk", request, () -> {
+            int created = authService.addBulkScheduleItemsByCourse(request.getCourseCode(), request.getScheduleDetails());
+            return ResponseEntity.status(HttpStatus.CREATED).body("Created schedule for " + created + " students in course " + request.getCourseCode());
+        });
     }
 
     @PostMapping("/subjects")
@@ -260,7 +432,11 @@ public class AuthController {
 
     @PutMapping("/users/{id}")
     public ResponseEntity<String> updateUser(@PathVariable String id, @RequestBody User user) {
-        authService.updateUser(id, user);
+        try {
+            authService.updateUser(id, user);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
         return ResponseEntity.ok("User updated successfully.");
     }
 
@@ -285,9 +461,57 @@ public class AuthController {
         }
     }
 
+    // Admin push channel: an "enrollment" event whenever a request is submitted or processed
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToEvents() {
+        return notificationHub.subscribeAdmin();
+    }
+
+    // Announcements are stored once and shown in the inbox of every student in the audience
+    @PostMapping("/announcements")
+    public ResponseEntity<?> createAnnouncement(@RequestBody Announcement announcement) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(inboxService.broadcast(announcement));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/announcements")
+    public ResponseEntity<List<Announcement>> getAnnouncements() {
+        return ResponseEntity.ok(inboxService.getAnnouncements());
+    }
+
+    @DeleteMapping("/announcements/{id}")
+    public ResponseEntity<String> deleteAnnouncement(@PathVariable Long id) {
+        if (inboxService.deleteAnnouncement(id)) {
+            return ResponseEntity.ok("Announcement deleted successfully.");
+        }
+        return ResponseEntity.notFound().build();
+    }
+
     @GetMapping("/accounts")
-    public ResponseEntity<List<StudentAccount>> getAllStudentAccounts() {
-        return ResponseEntity.ok(authService.getAllStudentAccounts());
+    public ResponseEntity<List<StudentAccountSummary>> getAllStudentAccounts() {
+        return ResponseEntity.ok(authService.getStudentAccountSummaries());
+    }
+
+    // Keyset-paginated student accounts with payments: pass nextCursor back as cursor
+    @GetMapping("/accounts/page")
+    public ResponseEntity<KeysetPage<StudentAccount>> getStudentAccountsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String academicYear,
+            @RequestParam(required = false) String semester) {
+        return ResponseEntity.ok(listingService.getAccountsPage(cursor, size, academicYear, semester));
+    }
+
+    // Same rows as /accounts, written from a database cursor
+    @GetMapping("/accounts/stream")
+    public ResponseEntity<StreamingResponseBody> streamStudentAccounts(
+            @RequestParam(required = false) String academicYear,
+            @RequestParam(required = false) String semester) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+            .body(out -> listingService.streamAccounts(out, academicYear, semester));
     }
 
     @GetMapping("/account/{studentId}")
@@ -297,14 +521,39 @@ public class AuthController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Payment history newest first; pass nextCursor back as cursor for older payments
+    @GetMapping("/accounts/{studentId}/payments")
+    public ResponseEntity<?> getPaymentHistory(
+            @PathVariable String studentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(paymentLedgerService.getHistoryPage(studentId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Cashier terminals retry on timeouts: send an Idempotency-Key so a retry cannot post the payment twice
     @PostMapping("/account/payment")
-    public ResponseEntity<String> processStudentPayment(@RequestBody PaymentRequest paymentRequest) {
-        boolean success = authService.processStudentPayment(
-            paymentRequest.getStudentId(), 
-            paymentRequest.getAmount(), 
-            paymentRequest.getDate(), 
-            paymentRequest.getDescription()
-        );
+    public ResponseEntity<String> processStudentPayment(
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @RequestBody PaymentRequest paymentRequest) {
+        return idempotencyStore.execute(idempotencyKey, "account/payment", paymentRequest, () -> recordPayment(paymentRequest));
+    }
+
+    private ResponseEntity<String> recordPayment(PaymentRequest paymentRequest) {
+        boolean success;
+        try {
+            success = authService.processStudentPayment(
+                paymentRequest.getStudentId(), 
+                paymentRequest.getAmount(), 
+                paymentRequest.getDate(), 
+                paymentRequest.getDescription()
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
         if (success) {
             return ResponseEntity.ok("Payment processed successfully.");
         } else {
@@ -313,10 +562,8 @@ public class AuthController {
     }
 
     @GetMapping("/enrollments/section/{sectionId}")
-    public ResponseEntity<List<User>> getStudentsBySection(@PathVariable String sectionId) {
-        List<User> students = authService.getAllUsers().stream()
-            .filter(u -> "student".equalsIgnoreCase(u.getRole()) && sectionId.equalsIgnoreCase(u.getSection()))
-            .toList();
+    public ResponseEntity<List<UserSummary>> getStudentsBySection(@PathVariable String sectionId) {
+        List<UserSummary> students = authService.getStudentsBySection(sectionId);
         return ResponseEntity.ok(students);
     }
 
@@ -339,28 +586,22 @@ public class AuthController {
         return ResponseEntity.ok(grades);
     }
 
-    // Batch encode grades for a section/subject/term
+    // Batch encode grades for a section/subject/term; returns per-row results
     @PostMapping("/grades/batch-encode")
-    public ResponseEntity<String> batchEncodeGrades(@RequestBody Map<String, Object> payload) {
-        System.out.println("Payload: " + payload);
-        String sectionId = (String) payload.get("sectionId");
-        String subjectCode = (String) payload.get("subjectCode");
-        String academicYear = (String) payload.get("academicYear");
-        String semester = (String) payload.get("semester");
-        Object gradesObj = payload.get("grades");
-        System.out.println("Grades object: " + gradesObj);
-        List<Map<String, Object>> grades;
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            String json = mapper.writeValueAsString(gradesObj);
-            grades = mapper.readValue(json, new TypeReference<List<Map<String, Object>>>(){});
-        } catch (Exception e) {
-            System.out.println("Error parsing grades: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(500).body("Error parsing grades payload: " + e.getMessage());
-        }
-        int saved = gradeService.batchEncodeGrades(sectionId, subjectCode, academicYear, semester, grades);
-        return ResponseEntity.ok("Saved " + saved + " grades.");
+    public ResponseEntity<?> batchEncodeGrades(
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @RequestBody BatchGradeEncodeRequest request) {
+        return idempotencyStore.<Object>execute(idempotencyKey, "grades/batch-encode", request, () -> {
+            BatchGradeEncodeResult result;
+            try {
+                result = gradeService.batchEncodeGrades(request);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+            System.out.println("Batch encode " + request.getSubjectCode() + ": " + result.getInserted() + " inserted, "
+                + result.getUpdated() + " updated, " + result.getRejected() + " rejected");
+            return ResponseEntity.ok(result);
+        });
     }
 
     // Batch release all grades for a section/subject/term
@@ -385,6 +626,13 @@ public class AuthController {
         return ResponseEntity.ok("Unreleased " + unreleased + " grades.");
     }
 
+    // Recompute the term/cumulative GPA aggregates from the raw grades
+    @PostMapping("/grades/rebuild-gpa")
+    public ResponseEntity<String> rebuildGpaAggregates() {
+        int rows = gradeService.rebuildGpaAggregates();
+        return ResponseEntity.ok("Rebuilt GPA aggregates for " + rows + " student terms.");
+    }
+
     // Get grade statistics for a section/subject/term
     @GetMapping("/grades/statistics")
     public ResponseEntity<Map<String, Object>> getGradeStatistics(
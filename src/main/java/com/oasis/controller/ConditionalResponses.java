@@ -0,0 +1,25 @@
+package com.oasis.controller;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Conditional GET for version-stamped catalog responses.
+ * A matching If-None-Match is answered with 304 before the body is read or serialized.
+ */
+final class ConditionalResponses {
+
+    private ConditionalResponses() {}
+
+    // Returns null once the 304 has been written (Spring then treats the request as handled)
+    static <T> ResponseEntity<T> ifNoneMatch(WebRequest webRequest, String etag, Supplier<T> body) {
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        // ETag header is already set by checkNotModified; no-cache makes browsers revalidate every time
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(body.get());
+    }
+}
@@ -18,11 +18,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.oasis.model.Curriculum;
 import com.oasis.model.Subject;
 import com.oasis.repository.CurriculumRepository;
-import com.oasis.repository.SubjectRepository;
+import com.oasis.service.ReferenceDataCache;
+import com.oasis.service.ReferenceDataCache.Catalog;
 
 @RestController
 @RequestMapping("/api/curriculum")
@@ -32,23 +34,27 @@ public class CurriculumController {
     @Autowired
     private CurriculumRepository curriculumRepository;
     @Autowired
-    private SubjectRepository subjectRepository;
+    private ReferenceDataCache referenceDataCache;
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
     @GetMapping
-    public List<Curriculum> getAllCurricula() {
-        return curriculumRepository.findAll();
+    public ResponseEntity<List<Curriculum>> getAllCurricula(WebRequest webRequest) {
+        return ConditionalResponses.ifNoneMatch(webRequest, referenceDataCache.etag(Catalog.CURRICULA),
+            referenceDataCache::getCurricula);
     }
 
     @GetMapping("/by-course")
-    public List<Curriculum> getCurriculaByCourse(@RequestParam String courseCode) {
-        return curriculumRepository.findByCourseCodeIgnoreCase(courseCode);
+    public ResponseEntity<List<Curriculum>> getCurriculaByCourse(@RequestParam String courseCode, WebRequest webRequest) {
+        return ConditionalResponses.ifNoneMatch(webRequest, referenceDataCache.etag(Catalog.CURRICULA),
+            () -> referenceDataCache.getCurriculaByCourse(courseCode));
     }
 
     @GetMapping("/by-course-year-sem")
-    public List<Curriculum> getCurriculaByCourseYearSem(@RequestParam String courseCode, @RequestParam int yearLevel, @RequestParam String semester) {
-        return curriculumRepository.findByCourseCodeIgnoreCaseAndYearLevelAndSemester(courseCode, yearLevel, semester);
+    public ResponseEntity<List<Curriculum>> getCurriculaByCourseYearSem(@RequestParam String courseCode, @RequestParam int yearLevel,
+                                                                        @RequestParam String semester, WebRequest webRequest) {
+        return ConditionalResponses.ifNoneMatch(webRequest, referenceDataCache.etag(Catalog.CURRICULA),
+            () -> referenceDataCache.getCurricula(courseCode, yearLevel, semester));
     }
 
     @PostMapping
@@ -77,6 +83,7 @@ public class CurriculumController {
             }
             
             Curriculum saved = curriculumRepository.save(curriculum);
+            referenceDataCache.invalidateCurricula();
             logger.info("Curriculum created successfully with ID: {}", saved.getId());
             return ResponseEntity.ok(saved);
         } catch (Exception e) {
@@ -100,6 +107,7 @@ public class CurriculumController {
                 c.setRequiredUnits(updated.getRequiredUnits() > 0 ? updated.getRequiredUnits() : 25);
                 
                 Curriculum saved = curriculumRepository.save(c);
+                referenceDataCache.invalidateCurricula();
                 logger.info("Curriculum updated successfully");
                 return ResponseEntity.ok(saved);
             } else {
@@ -118,6 +126,7 @@ public class CurriculumController {
             jdbcTemplate.update("DELETE FROM curriculum_subjects WHERE curriculum_id = ?", id);
             // Then, delete from curricula
             curriculumRepository.deleteById(id);
+            referenceDataCache.invalidateCurricula();
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("Failed to delete curriculum: " + e.getMessage());
@@ -127,9 +136,9 @@ public class CurriculumController {
     // Helper: Get subject details for a curriculum
     @GetMapping("/{id}/subjects")
     public List<Subject> getSubjectsForCurriculum(@PathVariable Long id) {
-        Curriculum c = curriculumRepository.findById(id).orElseThrow();
+        Curriculum c = referenceDataCache.findCurriculum(id).orElseThrow();
         return c.getSubjectCodesList().stream()
-            .map(code -> subjectRepository.findByCodeIgnoreCase(code).orElse(null))
+            .map(code -> referenceDataCache.findSubject(code).orElse(null))
             .filter(s -> s != null)
             .collect(Collectors.toList());
     }
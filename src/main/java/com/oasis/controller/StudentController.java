@@ -3,8 +3,8 @@ package com.oasis.controller;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,19 +14,27 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.oasis.model.EnrollmentRequest;
+import com.oasis.model.KeyNormalizer;
+import com.oasis.model.KeysetPage;
 import com.oasis.model.Message;
 import com.oasis.model.ScheduleItem;
 import com.oasis.model.StudentAccount;
+import com.oasis.model.StudentDashboard;
 import com.oasis.model.StudentEnrollment;
 import com.oasis.model.StudentForm;
 import com.oasis.model.StudentGrade;
 import com.oasis.model.Subject;
-import com.oasis.repository.MessageRepository;
 import com.oasis.repository.ScheduleItemRepository;
-import com.oasis.repository.SubjectRepository;
 import com.oasis.service.GradeService;
+import com.oasis.service.InboxService;
+import com.oasis.service.NotificationHub;
+import com.oasis.service.PaymentLedgerService;
+import com.oasis.service.ReferenceDataCache;
+import com.oasis.service.ScheduleConflictIndex;
+import com.oasis.service.StudentDashboardService;
 import com.oasis.service.StudentService;
 
 @RestController
@@ -35,17 +43,39 @@ public class StudentController {
 
     private final StudentService studentService;
     private final GradeService gradeService;
-    private final SubjectRepository subjectRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final ScheduleItemRepository scheduleItemRepository;
-    private final MessageRepository messageRepository;
+    private final InboxService inboxService;
+    private final ScheduleConflictIndex scheduleConflictIndex;
+    private final StudentDashboardService studentDashboardService;
+    private final NotificationHub notificationHub;
+    private final PaymentLedgerService paymentLedgerService;
 
-    public StudentController(StudentService studentService, GradeService gradeService, SubjectRepository subjectRepository, 
-                           ScheduleItemRepository scheduleItemRepository, MessageRepository messageRepository) {
+    public StudentController(StudentService studentService, GradeService gradeService, ReferenceDataCache referenceDataCache, 
+                           ScheduleItemRepository scheduleItemRepository, InboxService inboxService,
+                           ScheduleConflictIndex scheduleConflictIndex, StudentDashboardService studentDashboardService,
+                           NotificationHub notificationHub, PaymentLedgerService paymentLedgerService) {
         this.studentService = studentService;
         this.gradeService = gradeService;
-        this.subjectRepository = subjectRepository;
+        this.referenceDataCache = referenceDataCache;
         this.scheduleItemRepository = scheduleItemRepository;
-        this.messageRepository = messageRepository;
+        this.inboxService = inboxService;
+        this.scheduleConflictIndex = scheduleConflictIndex;
+        this.studentDashboardService = studentDashboardService;
+        this.notificationHub = notificationHub;
+        this.paymentLedgerService = paymentLedgerService;
+    }
+
+    // Portal load in one round trip: profile, account, schedule, grades, GPAs, inbox, forms and requests.
+    // Schedule and term GPA default to the student's current term.
+    @GetMapping("/dashboard/{studentId}")
+    public ResponseEntity<StudentDashboard> getDashboard(
+            @PathVariable String studentId,
+            @RequestParam(required = false) String academicYear,
+            @RequestParam(required = false) String semester) {
+        return studentDashboardService.getDashboard(studentId, academicYear, semester)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     // Endpoint for getting student enrollment details
@@ -71,6 +101,19 @@ public class StudentController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Payment history newest first; pass nextCursor back as cursor for older payments
+    @GetMapping("/account/{studentId}/payments")
+    public ResponseEntity<?> getPaymentHistory(
+            @PathVariable String studentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(paymentLedgerService.getHistoryPage(studentId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     // Updated endpoint for getting student schedule
     @GetMapping("/schedule/{studentId}")
     public ResponseEntity<List<ScheduleItem>> getSchedule(
@@ -78,13 +121,9 @@ public class StudentController {
             @RequestParam(required = false) String academicYear,
             @RequestParam(required = false) String semester) {
         
-        List<ScheduleItem> scheduleItems;
-        if (academicYear != null && semester != null) {
-            scheduleItems = scheduleItemRepository.findByStudentIdIgnoreCaseAndAcademicYearAndSemester(
-                studentId, academicYear, semester);
-        } else {
-            scheduleItems = scheduleItemRepository.findByStudentIdIgnoreCase(studentId);
-        }
+        // Section timetable and the student's overrides, resolved in one query
+        List<ScheduleItem> scheduleItems = scheduleItemRepository.findMergedForStudent(
+            KeyNormalizer.normalize(studentId), academicYear, semester);
         
         return ResponseEntity.ok(scheduleItems);
     }
@@ -92,7 +131,7 @@ public class StudentController {
     // Endpoint for getting all subjects for grade encoding (admin use)
     @GetMapping("/subjects-for-grades")
     public ResponseEntity<List<Subject>> getAllSubjectsForGrades() {
-        List<Subject> subjects = subjectRepository.findAll();
+        List<Subject> subjects = referenceDataCache.getSubjects();
         return ResponseEntity.ok(subjects);
     }
 
@@ -113,6 +152,31 @@ public class StudentController {
         return ResponseEntity.ok(messages);
     }
 
+    // Inbox one page at a time, newest first; pass nextCursor back as cursor for older messages
+    @GetMapping("/inbox/{studentId}/page")
+    public ResponseEntity<?> getInboxPage(
+            @PathVariable String studentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(inboxService.getPage(studentId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Unread badge: one counter row, no message bodies
+    @GetMapping("/inbox/{studentId}/unread-count")
+    public ResponseEntity<Map<String, Object>> getUnreadCount(@PathVariable String studentId) {
+        return ResponseEntity.ok(Map.of("studentId", studentId, "unread", inboxService.unreadCount(studentId)));
+    }
+
+    // Push channel: "inbox", "grades", "account" and "enrollment" events replace client polling
+    @GetMapping(path = "/events/{studentId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToEvents(@PathVariable String studentId) {
+        return notificationHub.subscribeStudent(studentId);
+    }
+
     // Endpoint for getting student forms
     @GetMapping("/forms/{studentId}")
     public ResponseEntity<List<StudentForm>> getForms(@PathVariable String studentId) {
@@ -134,11 +198,13 @@ public class StudentController {
         if (!scheduleItems.isEmpty()) {
             String academicYear = scheduleItems.get(0).getAcademicYear();
             String semester = scheduleItems.get(0).getSemester();
-            scheduleItemRepository.deleteByStudentIdIgnoreCaseAndAcademicYearAndSemester(studentId, academicYear, semester);
+            scheduleItemRepository.deleteByStudentKeyAndAcademicYearAndSemester(KeyNormalizer.normalize(studentId), academicYear, semester);
         }
         
         // Save new schedule items
         scheduleItemRepository.saveAll(scheduleItems);
+        // Whole-term replace: let the conflict index reload the term instead of diffing it
+        scheduleConflictIndex.reset();
         return ResponseEntity.ok("Student schedule updated successfully.");
     }
 
@@ -277,12 +343,9 @@ public class StudentController {
     }
 
     @PutMapping("/inbox/read/{messageId}")
-    public ResponseEntity<String> markMessageAsRead(@PathVariable Long messageId) {
-        Optional<Message> msgOpt = messageRepository.findById(messageId);
-        if (msgOpt.isPresent()) {
-            Message msg = msgOpt.get();
-            msg.setIsRead(true);
-            messageRepository.save(msg);
+    public ResponseEntity<String> markMessageAsRead(@PathVariable Long messageId,
+                                                    @RequestParam(required = false) String studentId) {
+        if (inboxService.markRead(messageId, studentId).isPresent()) {
             return ResponseEntity.ok("Message marked as read.");
         }
         return ResponseEntity.notFound().build();
@@ -0,0 +1,86 @@
+package com.oasis.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+
+/**
+ * A message stored once for a whole audience instead of one Message row per student.
+ * Who has read it is kept sparsely in announcement_reads. Ids come from the messages sequence so
+ * announcements and direct messages can be merged into one inbox ordered by (timestamp, id).
+ */
+@Entity
+@Table(name = "announcements", indexes = {
+    @Index(name = "idx_announcements_audience_timestamp", columnList = "audience_type, audience_value, timestamp")
+})
+public class Announcement {
+
+    // Audience types; audienceValue is ignored for ALL and holds the course code, section id or year level otherwise
+    public static final String ALL = "ALL";
+    public static final String COURSE = "COURSE";
+    public static final String SECTION = "SECTION";
+    public static final String YEAR_LEVEL = "YEAR_LEVEL";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "announcements_gen")
+    @TableGenerator(name = "announcements_gen", table = "id_generators", pkColumnName = "gen_name",
+                    valueColumnName = "next_val", pkColumnValue = "messages", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "sender", nullable = false, length = 100)
+    private String sender;
+
+    @Column(name = "subject", nullable = false, length = 200)
+    private String subject;
+
+    @Column(name = "content", nullable = false, length = 1000)
+    private String content;
+
+    @Column(name = "timestamp", nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(name = "audience_type", nullable = false, length = 20)
+    private String audienceType;
+
+    @Column(name = "audience_value", length = 50)
+    private String audienceValue;
+
+    public Announcement() {}
+
+    public Announcement(String sender, String subject, String content, String audienceType, String audienceValue) {
+        this.sender = sender;
+        this.subject = subject;
+        this.content = content;
+        this.audienceType = audienceType;
+        this.audienceValue = audienceValue;
+    }
+
+    @PrePersist
+    private void defaults() {
+        if (timestamp == null) timestamp = LocalDateTime.now();
+        if (ALL.equals(audienceType)) audienceValue = null;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getSender() { return sender; }
+    public void setSender(String sender) { this.sender = sender; }
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+    public String getAudienceType() { return audienceType; }
+    public void setAudienceType(String audienceType) { this.audienceType = audienceType; }
+    public String getAudienceValue() { return audienceValue; }
+    public void setAudienceValue(String audienceValue) { this.audienceValue = audienceValue; }
+}
@@ -0,0 +1,39 @@
+package com.oasis.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * One student has read one announcement. Only reads are stored, so an announcement nobody has
+ * opened costs no rows however large its audience.
+ */
+@Entity
+@Table(name = "announcement_reads", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_announcement_reads_student_announcement", columnNames = {"student_key", "announcement_id"})
+})
+public class AnnouncementRead {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "announcement_id", nullable = false)
+    private Long announcementId;
+
+    @Column(name = "student_key", nullable = false, length = 20)
+    private String studentKey;
+
+    public AnnouncementRead() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getAnnouncementId() { return announcementId; }
+    public void setAnnouncementId(Long announcementId) { this.announcementId = announcementId; }
+    public String getStudentKey() { return studentKey; }
+    public void setStudentKey(String studentKey) { this.studentKey = studentKey; }
+}
@@ -0,0 +1,44 @@
+package com.oasis.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchGradeEncodeRequest {
+    private String sectionId;
+    private String subjectCode;
+    private String academicYear;
+    private String semester;
+    private List<GradeEntry> grades = new ArrayList<>();
+
+    public BatchGradeEncodeRequest() {}
+
+    public String getSectionId() { return sectionId; }
+    public void setSectionId(String sectionId) { this.sectionId = sectionId; }
+    public String getSubjectCode() { return subjectCode; }
+    public void setSubjectCode(String subjectCode) { this.subjectCode = subjectCode; }
+    public String getAcademicYear() { return academicYear; }
+    public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
+    public String getSemester() { return semester; }
+    public void setSemester(String semester) { this.semester = semester; }
+    public List<GradeEntry> getGrades() { return grades; }
+    public void setGrades(List<GradeEntry> grades) { this.grades = grades; }
+
+    // One row of the grade entry table
+    public static class GradeEntry {
+        private String studentId;
+        private Double numericGrade;
+        private Integer units;
+        private String remarks;
+
+        public GradeEntry() {}
+
+        public String getStudentId() { return studentId; }
+        public void setStudentId(String studentId) { this.studentId = studentId; }
+        public Double getNumericGrade() { return numericGrade; }
+        public void setNumericGrade(Double numericGrade) { this.numericGrade = numericGrade; }
+        public Integer getUnits() { return units; }
+        public void setUnits(Integer units) { this.units = units; }
+        public String getRemarks() { return remarks; }
+        public void setRemarks(String remarks) { this.remarks = remarks; }
+    }
+}
@@ -0,0 +1,58 @@
+package com.oasis.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchGradeEncodeResult {
+    private int inserted;
+    private int updated;
+    private int rejected;
+    private List<RowResult> rows = new ArrayList<>();
+
+    public BatchGradeEncodeResult() {}
+
+    public void addRow(int index, String studentId, String status, String message) {
+        rows.add(new RowResult(index, studentId, status, message));
+        switch (status) {
+            case RowResult.INSERTED -> inserted++;
+            case RowResult.UPDATED -> updated++;
+            default -> rejected++;
+        }
+    }
+
+    public int getSaved() { return inserted + updated; }
+    public int getInserted() { return inserted; }
+    public int getUpdated() { return updated; }
+    public int getRejected() { return rejected; }
+    public List<RowResult> getRows() { return rows; }
+
+    // Outcome of one request row, by its position in the request
+    public static class RowResult {
+        public static final String INSERTED = "INSERTED";
+        public static final String UPDATED = "UPDATED";
+        public static final String REJECTED = "REJECTED";
+
+        private int index;
+        private String studentId;
+        private String status;
+        private String message;
+
+        public RowResult() {}
+
+        public RowResult(int index, String studentId, String status, String message) {
+            this.index = index;
+            this.studentId = studentId;
+            this.status = status;
+            this.message = message;
+        }
+
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        public String getStudentId() { return studentId; }
+        public void setStudentId(String studentId) { this.studentId = studentId; }
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -0,0 +1,35 @@
+package com.oasis.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Approve or reject many enrollment requests at once: either the listed requestIds, or every
+ * request in the filter status (pending by default) matching the optional course and term.
+ */
+public class BulkEnrollmentProcessRequest {
+    private String status; // "approved" or "rejected"
+    private String remarks;
+    private List<Long> requestIds = new ArrayList<>();
+    private String course;
+    private String academicYear;
+    private String semester;
+    private String currentStatus;
+
+    public BulkEnrollmentProcessRequest() {}
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public String getRemarks() { return remarks; }
+    public void setRemarks(String remarks) { this.remarks = remarks; }
+    public List<Long> getRequestIds() { return requestIds; }
+    public void setRequestIds(List<Long> requestIds) { this.requestIds = requestIds; }
+    public String getCourse() { return course; }
+    public void setCourse(String course) { this.course = course; }
+    public String getAcademicYear() { return academicYear; }
+    public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
+    public String getSemester() { return semester; }
+    public void setSemester(String semester) { this.semester = semester; }
+    public String getCurrentStatus() { return currentStatus; }
+    public void setCurrentStatus(String currentStatus) { this.currentStatus = currentStatus; }
+}
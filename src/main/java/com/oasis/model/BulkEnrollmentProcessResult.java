@@ -0,0 +1,59 @@
+package com.oasis.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkEnrollmentProcessResult {
+    private int approved;
+    private int rejected;
+    private int skipped;
+    private List<RowResult> rows = new ArrayList<>();
+
+    public BulkEnrollmentProcessResult() {}
+
+    public void addRow(Long requestId, String studentId, String outcome, String message) {
+        rows.add(new RowResult(requestId, studentId, outcome, message));
+        switch (outcome) {
+            case RowResult.APPROVED -> approved++;
+            case RowResult.REJECTED -> rejected++;
+            default -> skipped++;
+        }
+    }
+
+    public int getProcessed() { return approved + rejected; }
+    public int getApproved() { return approved; }
+    public int getRejected() { return rejected; }
+    public int getSkipped() { return skipped; }
+    public List<RowResult> getRows() { return rows; }
+
+    // Outcome for one enrollment request
+    public static class RowResult {
+        public static final String APPROVED = "APPROVED";
+        public static final String REJECTED = "REJECTED";
+        public static final String SKIPPED = "SKIPPED";
+        public static final String NOT_FOUND = "NOT_FOUND";
+
+        private Long requestId;
+        private String studentId;
+        private String outcome;
+        private String message;
+
+        public RowResult() {}
+
+        public RowResult(Long requestId, String studentId, String outcome, String message) {
+            this.requestId = requestId;
+            this.studentId = studentId;
+            this.outcome = outcome;
+            this.message = message;
+        }
+
+        public Long getRequestId() { return requestId; }
+        public void setRequestId(Long requestId) { this.requestId = requestId; }
+        public String getStudentId() { return studentId; }
+        public void setStudentId(String studentId) { this.studentId = studentId; }
+        public String getOutcome() { return outcome; }
+        public void setOutcome(String outcome) { this.outcome = outcome; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -7,10 +7,15 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "enrollment_requests")
+@Table(name = "enrollment_requests", indexes = {
+    @Index(name = "idx_enrollment_requests_student", columnList = "student_key")
+})
 public class EnrollmentRequest {
     
     @Id
@@ -20,6 +25,9 @@ public class EnrollmentRequest {
     
     @Column(name = "student_id", nullable = false, length = 20)
     private String studentId;
+
+    @Column(name = "student_key", length = 20)
+    private String studentKey; // Canonical-case copy of studentId, see KeyNormalizer
     
     @Column(name = "student_name", nullable = false, length = 100)
     private String studentName;
@@ -65,6 +73,12 @@ public class EnrollmentRequest {
         this.remarks = remarks;
     }
 
+    @PrePersist
+    @PreUpdate
+    private void normalizeKeys() {
+        this.studentKey = KeyNormalizer.normalize(studentId);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,34 @@
+package com.oasis.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only view of a faculty member for admin tables; assigned subjects are filled from one batch query.
+ */
+public class FacultySummary {
+    private String id;
+    private String name;
+    private String department;
+    private String contactNumber;
+    private String email;
+    private String position;
+    private List<String> assignedSubjects = new ArrayList<>();
+
+    public FacultySummary(String id, String name, String department, String contactNumber, String email, String position) {
+        this.id = id;
+        this.name = name;
+        this.department = department;
+        this.contactNumber = contactNumber;
+        this.email = email;
+        this.position = position;
+    }
+
+    public String getId() { return id; }
+    public String getName() { return name; }
+    public String getDepartment() { return department; }
+    public String getContactNumber() { return contactNumber; }
+    public String getEmail() { return email; }
+    public String getPosition() { return position; }
+    public List<String> getAssignedSubjects() { return assignedSubjects; }
+}
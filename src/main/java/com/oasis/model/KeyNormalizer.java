@@ -0,0 +1,16 @@
+package com.oasis.model;
+
+import java.util.Locale;
+
+/**
+ * Produces the canonical-case form of user/student IDs stored in the *_key columns.
+ * Lookups go through these indexed columns instead of upper(col) = upper(?) comparisons.
+ */
+public final class KeyNormalizer {
+
+    private KeyNormalizer() {}
+
+    public static String normalize(String id) {
+        return id != null ? id.trim().toUpperCase(Locale.ROOT) : null;
+    }
+}
@@ -7,18 +7,29 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+    @Index(name = "idx_messages_student_timestamp_id", columnList = "student_key, timestamp, id")
+})
 public class Message {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "messages_gen")
+    @TableGenerator(name = "messages_gen", table = "id_generators", pkColumnName = "gen_name",
+                    valueColumnName = "next_val", pkColumnValue = "messages", allocationSize = 50)
     private Long id;
     
     @Column(name = "student_id", nullable = false, length = 20)
     private String studentId;
+
+    @Column(name = "student_key", length = 20)
+    private String studentKey; // Canonical-case copy of studentId, see KeyNormalizer
     
     @Column(name = "sender", nullable = false, length = 100)
     private String sender;
@@ -47,6 +58,12 @@ public class Message {
         this.isRead = isRead != null ? isRead : false;
     }
 
+    @PrePersist
+    @PreUpdate
+    private void normalizeKeys() {
+        this.studentKey = KeyNormalizer.normalize(studentId);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
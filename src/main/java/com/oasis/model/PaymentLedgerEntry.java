@@ -0,0 +1,82 @@
+package com.oasis.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+/**
+ * One payment against a student account. Rows are only ever inserted; the account's remaining
+ * balance is decremented in the same transaction.
+ */
+@Entity
+@Table(name = "payment_ledger", indexes = {
+    @Index(name = "idx_payment_ledger_student_id", columnList = "student_key, id")
+})
+public class PaymentLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false, length = 20)
+    private String studentId;
+
+    @Column(name = "student_key", nullable = false, length = 20)
+    private String studentKey; // Canonical-case copy of studentId, see KeyNormalizer
+
+    @Column(name = "amount", nullable = false)
+    private Double amount;
+
+    @Column(name = "payment_date")
+    private LocalDate paymentDate;
+
+    @Column(name = "description", length = 200)
+    private String description;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    public PaymentLedgerEntry() {}
+
+    public PaymentLedgerEntry(String studentId, Double amount, LocalDate paymentDate, String description) {
+        this.studentId = studentId;
+        this.amount = amount;
+        this.paymentDate = paymentDate;
+        this.description = description;
+    }
+
+    @PrePersist
+    private void prePersist() {
+        this.studentKey = KeyNormalizer.normalize(studentId);
+        if (recordedAt == null) {
+            recordedAt = LocalDateTime.now();
+        }
+    }
+
+    // The "date: amount - description" line the account pages display
+    public String getPaymentInfo() {
+        return String.format("%s: %.2f - %s", paymentDate, amount, description);
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+    public String getStudentKey() { return studentKey; }
+    public Double getAmount() { return amount; }
+    public void setAmount(Double amount) { this.amount = amount; }
+    public LocalDate getPaymentDate() { return paymentDate; }
+    public void setPaymentDate(LocalDate paymentDate) { this.paymentDate = paymentDate; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public LocalDateTime getRecordedAt() { return recordedAt; }
+    public void setRecordedAt(LocalDateTime recordedAt) { this.recordedAt = recordedAt; }
+}
@@ -5,18 +5,30 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Transient;
 
 @Entity
-@Table(name = "schedule_items")
+@Table(name = "schedule_items", indexes = {
+    @Index(name = "idx_schedule_items_student_term", columnList = "student_key, academic_year, semester")
+})
 public class ScheduleItem {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "schedule_items_gen")
+    @TableGenerator(name = "schedule_items_gen", table = "id_generators", pkColumnName = "gen_name",
+                    valueColumnName = "next_val", pkColumnValue = "schedule_items", allocationSize = 50)
     private Long id;
     
     @Column(name = "student_id", length = 20)
     private String studentId;
+
+    @Column(name = "student_key", length = 20)
+    private String studentKey; // Canonical-case copy of studentId, see KeyNormalizer
     
     @Column(name = "subject_code", length = 20)
     private String subjectCode;
@@ -57,6 +69,9 @@ public class ScheduleItem {
     @Column(name = "end_time", length = 10)
     private String endTime;
 
+    @Transient
+    private String sectionId; // Set when this entry comes from the shared section timetable
+
     // Constructors
     public ScheduleItem() {}
 
@@ -76,6 +91,12 @@ public class ScheduleItem {
         this.semester = semester;
     }
 
+    @PrePersist
+    @PreUpdate
+    private void normalizeKeys() {
+        this.studentKey = KeyNormalizer.normalize(studentId);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -196,4 +217,12 @@ public class ScheduleItem {
     public void setEndTime(String endTime) {
         this.endTime = endTime;
     }
+
+    public String getSectionId() {
+        return sectionId;
+    }
+
+    public void setSectionId(String sectionId) {
+        this.sectionId = sectionId;
+    }
 }
@@ -0,0 +1,24 @@
+package com.oasis.model;
+
+// Seats of one section; capacity and available are null for an unlimited section
+public class SeatAvailability {
+    private String sectionId;
+    private Integer capacity;
+    private int taken;
+    private Integer available;
+
+    public SeatAvailability() {}
+
+    public SeatAvailability(String sectionId, Integer capacity, int taken, Integer available) {
+        this.sectionId = sectionId;
+        this.capacity = capacity;
+        this.taken = taken;
+        this.available = available;
+    }
+
+    public String getSectionId() { return sectionId; }
+    public Integer getCapacity() { return capacity; }
+    public int getTaken() { return taken; }
+    public Integer getAvailable() { return available; }
+    public boolean isFull() { return available != null && available == 0; }
+}
@@ -0,0 +1,206 @@
+package com.oasis.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+
+/**
+ * One class meeting shared by every student in a section.
+ * Students see it through their section membership; ScheduleItem rows are only kept
+ * as per-student overrides (irregular students) and take precedence for the same subject/term.
+ */
+@Entity
+@Table(name = "section_schedule_items", indexes = {
+    @Index(name = "idx_section_schedule_items_section_term", columnList = "section_key, academic_year, semester")
+})
+public class SectionScheduleItem {
+    
+    // Draws from the schedule_items generator so ids never collide with per-student rows
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "section_schedule_items_gen")
+    @TableGenerator(name = "section_schedule_items_gen", table = "id_generators", pkColumnName = "gen_name",
+                    valueColumnName = "next_val", pkColumnValue = "schedule_items", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "section_id", nullable = false, length = 20)
+    private String sectionId;
+
+    @Column(name = "section_key", length = 20)
+    private String sectionKey; // Canonical-case copy of sectionId, see KeyNormalizer
+    
+    @Column(name = "subject_code", length = 20)
+    private String subjectCode;
+    
+    @Column(name = "description", length = 100)
+    private String description;
+    
+    @Column(name = "units")
+    private Integer units;
+    
+    @Column(name = "lec")
+    private Integer lec;
+    
+    @Column(name = "lab")
+    private Integer lab;
+    
+    @Column(name = "day_time", length = 50)
+    private String dayTime;
+    
+    @Column(name = "room", length = 20)
+    private String room;
+    
+    @Column(name = "faculty", length = 50)
+    private String faculty;
+    
+    @Column(name = "academic_year", length = 20)
+    private String academicYear;
+    
+    @Column(name = "semester", length = 20)
+    private String semester;
+    
+    @Column(name = "day", length = 20)
+    private String day;
+    
+    @Column(name = "start_time", length = 10)
+    private String startTime;
+    
+    @Column(name = "end_time", length = 10)
+    private String endTime;
+
+    // Constructors
+    public SectionScheduleItem() {}
+
+    @PrePersist
+    @PreUpdate
+    private void normalizeKeys() {
+        this.sectionKey = KeyNormalizer.normalize(sectionId);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSectionId() {
+        return sectionId;
+    }
+
+    public void setSectionId(String sectionId) {
+        this.sectionId = sectionId;
+    }
+
+    public String getSubjectCode() {
+        return subjectCode;
+    }
+
+    public void setSubjectCode(String subjectCode) {
+        this.subjectCode = subjectCode;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Integer getUnits() {
+        return units;
+    }
+
+    public void setUnits(Integer units) {
+        this.units = units;
+    }
+
+    public Integer getLec() {
+        return lec;
+    }
+
+    public void setLec(Integer lec) {
+        this.lec = lec;
+    }
+
+    public Integer getLab() {
+        return lab;
+    }
+
+    public void setLab(Integer lab) {
+        this.lab = lab;
+    }
+
+    public String getDayTime() {
+        return dayTime;
+    }
+
+    public void setDayTime(String dayTime) {
+        this.dayTime = dayTime;
+    }
+
+    public String getRoom() {
+        return room;
+    }
+
+    public void setRoom(String room) {
+        this.room = room;
+    }
+
+    public String getFaculty() {
+        return faculty;
+    }
+
+    public void setFaculty(String faculty) {
+        this.faculty = faculty;
+    }
+
+    public String getAcademicYear() {
+        return academicYear;
+    }
+
+    public void setAcademicYear(String academicYear) {
+        this.academicYear = academicYear;
+    }
+
+    public String getSemester() {
+        return semester;
+    }
+
+    public void setSemester(String semester) {
+        this.semester = semester;
+    }
+
+    public String getDay() {
+        return day;
+    }
+
+    public void setDay(String day) {
+        this.day = day;
+    }
+
+    public String getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(String startTime) {
+        this.startTime = startTime;
+    }
+
+    public String getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(String endTime) {
+        this.endTime = endTime;
+    }
+}
@@ -0,0 +1,44 @@
+package com.oasis.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only view of a section for admin tables; subject codes are filled from one batch query.
+ */
+public class SectionSummary {
+    private String id;
+    private String name;
+    private String courseCode;
+    private String yearLevel;
+    private String sectionLetter;
+    private List<String> subjectCodes = new ArrayList<>();
+    private String facultyId;
+    private String schedule;
+    private Integer maxCapacity;
+    private Integer currentEnrollment;
+
+    public SectionSummary(String id, String name, String courseCode, String yearLevel, String sectionLetter,
+                          String facultyId, String schedule, Integer maxCapacity, Integer currentEnrollment) {
+        this.id = id;
+        this.name = name;
+        this.courseCode = courseCode;
+        this.yearLevel = yearLevel;
+        this.sectionLetter = sectionLetter;
+        this.facultyId = facultyId;
+        this.schedule = schedule;
+        this.maxCapacity = maxCapacity;
+        this.currentEnrollment = currentEnrollment;
+    }
+
+    public String getId() { return id; }
+    public String getName() { return name; }
+    public String getCourseCode() { return courseCode; }
+    public String getYearLevel() { return yearLevel; }
+    public String getSectionLetter() { return sectionLetter; }
+    public List<String> getSubjectCodes() { return subjectCodes; }
+    public String getFacultyId() { return facultyId; }
+    public String getSchedule() { return schedule; }
+    public Integer getMaxCapacity() { return maxCapacity; }
+    public Integer getCurrentEnrollment() { return currentEnrollment; }
+}
@@ -1,14 +1,13 @@
 package com.oasis.model;
 
+import java.util.ArrayList;
 import java.util.List;
 
-import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
-import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 
 @Entity
 @Table(name = "student_accounts")
@@ -21,11 +20,9 @@ public class StudentAccount {
     @Column(name = "total_balance", nullable = false)
     private Double totalBalance;
     
-    @ElementCollection
-    @CollectionTable(name = "student_payments", 
-                    joinColumns = @JoinColumn(name = "student_id"))
-    @Column(name = "payment_info", length = 200)
-    private List<String> payments;
+    // Display lines from payment_ledger, filled by PaymentLedgerService.attachPayments; not stored here
+    @Transient
+    private List<String> payments = new ArrayList<>();
     
     @Column(name = "remaining_balance", nullable = false)
     private Double remainingBalance;
@@ -0,0 +1,31 @@
+package com.oasis.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only view of a student account for admin tables; payments are filled from one batch query.
+ */
+public class StudentAccountSummary {
+    private String studentId;
+    private Double totalBalance;
+    private List<String> payments = new ArrayList<>();
+    private Double remainingBalance;
+    private String academicYear;
+    private String semester;
+
+    public StudentAccountSummary(String studentId, Double totalBalance, Double remainingBalance, String academicYear, String semester) {
+        this.studentId = studentId;
+        this.totalBalance = totalBalance;
+        this.remainingBalance = remainingBalance;
+        this.academicYear = academicYear;
+        this.semester = semester;
+    }
+
+    public String getStudentId() { return studentId; }
+    public Double getTotalBalance() { return totalBalance; }
+    public List<String> getPayments() { return payments; }
+    public Double getRemainingBalance() { return remainingBalance; }
+    public String getAcademicYear() { return academicYear; }
+    public String getSemester() { return semester; }
+}
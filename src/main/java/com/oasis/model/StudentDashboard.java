@@ -0,0 +1,51 @@
+package com.oasis.model;
+
+import java.util.List;
+
+/**
+ * Everything the student portal shows on load, gathered by one request.
+ * The inbox is its first page plus the unread counter. Schedule and term GPA are for
+ * academicYear/semester (the student's current term unless asked otherwise).
+ */
+public class StudentDashboard {
+    private UserSummary user;
+    private StudentAccount account;
+    private String academicYear;
+    private String semester;
+    private List<ScheduleItem> schedule;
+    private List<StudentGrade> grades;
+    private Double termGPA;
+    private Double cumulativeGPA;
+    private KeysetPage<Message> inbox;
+    private int unreadCount;
+    private List<StudentForm> forms;
+    private List<EnrollmentRequest> enrollmentRequests;
+
+    public StudentDashboard(UserSummary user, String academicYear, String semester) {
+        this.user = user;
+        this.academicYear = academicYear;
+        this.semester = semester;
+    }
+
+    public UserSummary getUser() { return user; }
+    public StudentAccount getAccount() { return account; }
+    public void setAccount(StudentAccount account) { this.account = account; }
+    public String getAcademicYear() { return academicYear; }
+    public String getSemester() { return semester; }
+    public List<ScheduleItem> getSchedule() { return schedule; }
+    public void setSchedule(List<ScheduleItem> schedule) { this.schedule = schedule; }
+    public List<StudentGrade> getGrades() { return grades; }
+    public void setGrades(List<StudentGrade> grades) { this.grades = grades; }
+    public Double getTermGPA() { return termGPA; }
+    public void setTermGPA(Double termGPA) { this.termGPA = termGPA; }
+    public Double getCumulativeGPA() { return cumulativeGPA; }
+    public void setCumulativeGPA(Double cumulativeGPA) { this.cumulativeGPA = cumulativeGPA; }
+    public KeysetPage<Message> getInbox() { return inbox; }
+    public void setInbox(KeysetPage<Message> inbox) { this.inbox = inbox; }
+    public int getUnreadCount() { return unreadCount; }
+    public void setUnreadCount(int unreadCount) { this.unreadCount = unreadCount; }
+    public List<StudentForm> getForms() { return forms; }
+    public void setForms(List<StudentForm> forms) { this.forms = forms; }
+    public List<EnrollmentRequest> getEnrollmentRequests() { return enrollmentRequests; }
+    public void setEnrollmentRequests(List<EnrollmentRequest> enrollmentRequests) { this.enrollmentRequests = enrollmentRequests; }
+}
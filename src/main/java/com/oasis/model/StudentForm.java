@@ -7,10 +7,15 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "student_forms")
+@Table(name = "student_forms", indexes = {
+    @Index(name = "idx_student_forms_student_request_date", columnList = "student_key, request_date")
+})
 public class StudentForm {
     
     @Id
@@ -19,6 +24,9 @@ public class StudentForm {
     
     @Column(name = "student_id", nullable = false, length = 20)
     private String studentId;
+
+    @Column(name = "student_key", length = 20)
+    private String studentKey; // Canonical-case copy of studentId, see KeyNormalizer
     
     @Column(name = "form_type", nullable = false, length = 50)
     private String formType;
@@ -43,6 +51,12 @@ public class StudentForm {
         this.remarks = remarks;
     }
 
+    @PrePersist
+    @PreUpdate
+    private void normalizeKeys() {
+        this.studentKey = KeyNormalizer.normalize(studentId);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -5,18 +5,30 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 
 @Entity
-@Table(name = "student_grades")
+@Table(name = "student_grades", indexes = {
+    @Index(name = "idx_student_grades_student_term", columnList = "student_key, academic_year, semester"),
+    @Index(name = "idx_student_grades_student_subject_term", columnList = "student_key, subject_code, academic_year, semester")
+})
 public class StudentGrade {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "student_grades_gen")
+    @TableGenerator(name = "student_grades_gen", table = "id_generators", pkColumnName = "gen_name",
+                    valueColumnName = "next_val", pkColumnValue = "student_grades", allocationSize = 50)
     private Long id;
     
     @Column(name = "student_id", nullable = false, length = 20)
     private String studentId;
+
+    @Column(name = "student_key", length = 20)
+    private String studentKey; // Canonical-case copy of studentId, see KeyNormalizer
     
     @Column(name = "subject_code", nullable = false, length = 20)
     private String subjectCode;
@@ -79,6 +91,12 @@ public class StudentGrade {
         }
     }
 
+    @PrePersist
+    @PreUpdate
+    private void normalizeKeys() {
+        this.studentKey = KeyNormalizer.normalize(studentId);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,29 @@
+package com.oasis.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Next unreserved student number for one admission year ("2025" in 2025-00042-OA-0).
+ * Only StudentNumberAllocator writes this table, a block of numbers at a time.
+ */
+@Entity
+@Table(name = "student_number_sequences")
+public class StudentNumberSequence {
+
+    @Id
+    @Column(name = "sequence_year")
+    private Integer sequenceYear;
+
+    @Column(name = "next_val", nullable = false)
+    private long nextVal;
+
+    public StudentNumberSequence() {}
+
+    public Integer getSequenceYear() { return sequenceYear; }
+    public void setSequenceYear(Integer sequenceYear) { this.sequenceYear = sequenceYear; }
+    public long getNextVal() { return nextVal; }
+    public void setNextVal(long nextVal) { this.nextVal = nextVal; }
+}
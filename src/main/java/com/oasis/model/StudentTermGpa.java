@@ -0,0 +1,101 @@
+package com.oasis.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Running GPA totals for one student and term, kept in step with student_grades by GpaAggregateService.
+ * Only grades with both a numeric grade and units are counted, matching the term/cumulative GPA formula.
+ */
+@Entity
+@Table(name = "student_term_gpa", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_student_term_gpa_student_term", columnNames = {"student_key", "academic_year", "semester"})
+})
+public class StudentTermGpa {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "student_key", nullable = false, length = 20)
+    private String studentKey;
+
+    @Column(name = "academic_year", nullable = false, length = 20)
+    private String academicYear;
+
+    @Column(name = "semester", nullable = false, length = 20)
+    private String semester;
+
+    @Column(name = "total_grade_points", nullable = false)
+    private double totalGradePoints; // Sum of units * numericGrade
+
+    @Column(name = "total_units", nullable = false)
+    private int totalUnits;
+
+    @Column(name = "graded_count", nullable = false)
+    private int gradedCount;
+
+    public StudentTermGpa() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStudentKey() {
+        return studentKey;
+    }
+
+    public void setStudentKey(String studentKey) {
+        this.studentKey = studentKey;
+    }
+
+    public String getAcademicYear() {
+        return academicYear;
+    }
+
+    public void setAcademicYear(String academicYear) {
+        this.academicYear = academicYear;
+    }
+
+    public String getSemester() {
+        return semester;
+    }
+
+    public void setSemester(String semester) {
+        this.semester = semester;
+    }
+
+    public double getTotalGradePoints() {
+        return totalGradePoints;
+    }
+
+    public void setTotalGradePoints(double totalGradePoints) {
+        this.totalGradePoints = totalGradePoints;
+    }
+
+    public int getTotalUnits() {
+        return totalUnits;
+    }
+
+    public void setTotalUnits(int totalUnits) {
+        this.totalUnits = totalUnits;
+    }
+
+    public int getGradedCount() {
+        return gradedCount;
+    }
+
+    public void setGradedCount(int gradedCount) {
+        this.gradedCount = gradedCount;
+    }
+}
@@ -0,0 +1,29 @@
+package com.oasis.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Number of unread inbox messages for one student, kept in step with messages by InboxService
+ * so the unread badge never has to load or count message rows.
+ */
+@Entity
+@Table(name = "student_unread_counts")
+public class StudentUnreadCount {
+
+    @Id
+    @Column(name = "student_key", length = 20)
+    private String studentKey;
+
+    @Column(name = "unread_count", nullable = false)
+    private int unreadCount;
+
+    public StudentUnreadCount() {}
+
+    public String getStudentKey() { return studentKey; }
+    public void setStudentKey(String studentKey) { this.studentKey = studentKey; }
+    public int getUnreadCount() { return unreadCount; }
+    public void setUnreadCount(int unreadCount) { this.unreadCount = unreadCount; }
+}
@@ -3,15 +3,24 @@ package com.oasis.model;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_id_key", columnList = "id_key"),
+    @Index(name = "idx_users_role_section", columnList = "role, section")
+})
 public class User {
     
     @Id
     @Column(name = "id", length = 50)
     private String id;
+
+    @Column(name = "id_key", length = 50)
+    private String idKey; // Canonical-case copy of id, see KeyNormalizer
     
     @Column(name = "name", nullable = false, length = 100)
     private String name;
@@ -66,6 +75,12 @@ public class User {
         this.preferredCourseCode = null;
     }
 
+    @PrePersist
+    @PreUpdate
+    private void normalizeKeys() {
+        this.idKey = KeyNormalizer.normalize(id);
+    }
+
     // Getters and Setters
     public String getId() {
         return id;
@@ -0,0 +1,49 @@
+package com.oasis.model;
+
+/**
+ * Read-only view of a user for admin tables; never carries the password.
+ */
+public class UserSummary {
+    private String id;
+    private String name;
+    private String role;
+    private String course;
+    private String facultyId;
+    private String status;
+    private String admissionStatus;
+    private String scholasticStatus;
+    private String section;
+    private String preferredCourseCode;
+    private String currentSY;
+    private String currentSem;
+
+    public UserSummary(String id, String name, String role, String course, String facultyId, String status,
+                       String admissionStatus, String scholasticStatus, String section, String preferredCourseCode,
+                       String currentSY, String currentSem) {
+        this.id = id;
+        this.name = name;
+        this.role = role;
+        this.course = course;
+        this.facultyId = facultyId;
+        this.status = status;
+        this.admissionStatus = admissionStatus;
+        this.scholasticStatus = scholasticStatus;
+        this.section = section;
+        this.preferredCourseCode = preferredCourseCode;
+        this.currentSY = currentSY;
+        this.currentSem = currentSem;
+    }
+
+    public String getId() { return id; }
+    public String getName() { return name; }
+    public String getRole() { return role; }
+    public String getCourse() { return course; }
+    public String getFacultyId() { return facultyId; }
+    public String getStatus() { return status; }
+    public String getAdmissionStatus() { return admissionStatus; }
+    public String getScholasticStatus() { return scholasticStatus; }
+    public String getSection() { return section; }
+    public String getPreferredCourseCode() { return preferredCourseCode; }
+    public String getCurrentSY() { return currentSY; }
+    public String getCurrentSem() { return currentSem; }
+}
@@ -0,0 +1,31 @@
+package com.oasis.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.oasis.model.Announcement;
+
+@Repository
+public interface AnnouncementRepository extends JpaRepository<Announcement, Long> {
+
+    List<Announcement> findAllByOrderByTimestampDescIdDesc();
+
+    // Announcements addressed to a student with this course, section and year level; newest first, keyset as in MessageRepository
+    @Query("SELECT a FROM Announcement a WHERE (a.audienceType = 'ALL'" +
+           " OR (a.audienceType = 'COURSE' AND a.audienceValue = :course)" +
+           " OR (a.audienceType = 'SECTION' AND a.audienceValue = :section)" +
+           " OR (a.audienceType = 'YEAR_LEVEL' AND a.audienceValue = :yearLevel))" +
+           " AND (:beforeTimestamp IS NULL OR a.timestamp < :beforeTimestamp" +
+           " OR (a.timestamp = :beforeTimestamp AND a.id < :beforeId))" +
+           " ORDER BY a.timestamp DESC, a.id DESC")
+    List<Announcement> findPageForAudience(@Param("course") String course, @Param("section") String section,
+                                           @Param("yearLevel") String yearLevel,
+                                           @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                           @Param("beforeId") Long beforeId, Pageable pageable);
+}
@@ -1,18 +1,46 @@
 package com.oasis.repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.oasis.model.EnrollmentRequest;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface EnrollmentRequestRepository extends JpaRepository<EnrollmentRequest, Long> {
     
-    List<EnrollmentRequest> findByStudentIdIgnoreCase(String studentId);
+    List<EnrollmentRequest> findByStudentKey(String studentKey);
     
     List<EnrollmentRequest> findByStatusIgnoreCase(String status);
     
-    void deleteByStudentIdIgnoreCase(String studentId);
+    void deleteByStudentKey(String studentKey);
+    
+    // Bulk processing selection; null filters are ignored
+    @Query("SELECT e FROM EnrollmentRequest e WHERE e.status = :status AND (:course IS NULL OR e.course = :course)" +
+           " AND (:academicYear IS NULL OR e.academicYear = :academicYear) AND (:semester IS NULL OR e.semester = :semester)" +
+           " ORDER BY e.id")
+    List<EnrollmentRequest> findForProcessing(@Param("status") String status, @Param("course") String course,
+                                              @Param("academicYear") String academicYear, @Param("semester") String semester);
+    
+    // Keyset page ordered by id; null filters are ignored
+    @Query("SELECT e FROM EnrollmentRequest e WHERE (:after IS NULL OR e.id > :after)" +
+           " AND (:status IS NULL OR e.status = :status) AND (:course IS NULL OR e.course = :course)" +
+           " AND (:sectionId IS NULL OR e.sectionId = :sectionId) ORDER BY e.id")
+    List<EnrollmentRequest> findPage(@Param("after") Long after, @Param("status") String status, @Param("course") String course,
+                                     @Param("sectionId") String sectionId, Pageable pageable);
+    
+    // Server-side cursor; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+    @Query("SELECT e FROM EnrollmentRequest e WHERE (:status IS NULL OR e.status = :status)" +
+           " AND (:course IS NULL OR e.course = :course) AND (:sectionId IS NULL OR e.sectionId = :sectionId) ORDER BY e.id")
+    Stream<EnrollmentRequest> streamAll(@Param("status") String status, @Param("course") String course, @Param("sectionId") String sectionId);
 } 
\ No newline at end of file
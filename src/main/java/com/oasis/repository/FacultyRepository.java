@@ -1,14 +1,24 @@
 package com.oasis.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.oasis.model.Faculty;
+import com.oasis.model.FacultySummary;
 
 @Repository
 public interface FacultyRepository extends JpaRepository<Faculty, String> {
     
     Optional<Faculty> findByIdIgnoreCase(String id);
+
+    // Admin table projections: columns only, assigned subjects fetched as (facultyId, code) pairs in one query
+    @Query("SELECT new com.oasis.model.FacultySummary(f.id, f.name, f.department, f.contactNumber, f.email, f.position) FROM Faculty f ORDER BY f.id")
+    List<FacultySummary> findAllSummaries();
+
+    @Query("SELECT f.id, s FROM Faculty f JOIN f.assignedSubjects s")
+    List<Object[]> findAllAssignedSubjectPairs();
 } 
\ No newline at end of file
@@ -1,8 +1,13 @@
 package com.oasis.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.oasis.model.Message;
@@ -10,9 +15,21 @@ import com.oasis.model.Message;
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
     
-    List<Message> findByStudentIdIgnoreCaseOrderByTimestampDesc(String studentId);
+    List<Message> findByStudentKeyOrderByTimestampDesc(String studentKey);
     
-    List<Message> findByStudentIdIgnoreCaseAndIsReadOrderByTimestampDesc(String studentId, Boolean isRead);
+    List<Message> findByStudentKeyAndIsReadOrderByTimestampDesc(String studentKey, Boolean isRead);
     
-    void deleteByStudentIdIgnoreCase(String studentId);
-} 
\ No newline at end of file
+    void deleteByStudentKey(String studentKey);
+
+    // Newest first, seeking past (beforeTimestamp, beforeId); served by idx_messages_student_timestamp_id
+    @Query("SELECT m FROM Message m WHERE m.studentKey = :studentKey AND (:beforeTimestamp IS NULL" +
+           " OR m.timestamp < :beforeTimestamp OR (m.timestamp = :beforeTimestamp AND m.id < :beforeId))" +
+           " ORDER BY m.timestamp DESC, m.id DESC")
+    List<Message> findPage(@Param("studentKey") String studentKey, @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                           @Param("beforeId") Long beforeId, Pageable pageable);
+
+    // Returns 1 only for the call that actually flips the message to read
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Message m SET m.isRead = true WHERE m.id = :id AND (m.isRead = false OR m.isRead IS NULL)")
+    int markRead(@Param("id") Long id);
+}
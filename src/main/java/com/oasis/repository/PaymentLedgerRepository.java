@@ -0,0 +1,28 @@
+package com.oasis.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.oasis.model.PaymentLedgerEntry;
+
+@Repository
+public interface PaymentLedgerRepository extends JpaRepository<PaymentLedgerEntry, Long> {
+
+    // Oldest first, as the account pages list them
+    List<PaymentLedgerEntry> findByStudentKeyInOrderByIdAsc(Collection<String> studentKeys);
+
+    List<PaymentLedgerEntry> findAllByOrderByIdAsc();
+
+    void deleteByStudentKey(String studentKey);
+
+    // Newest first, seeking past beforeId; served by idx_payment_ledger_student_id
+    @Query("SELECT p FROM PaymentLedgerEntry p WHERE p.studentKey = :studentKey AND (:beforeId IS NULL OR p.id < :beforeId)" +
+           " ORDER BY p.id DESC")
+    List<PaymentLedgerEntry> findPage(@Param("studentKey") String studentKey, @Param("beforeId") Long beforeId, Pageable pageable);
+}
@@ -1,20 +1,48 @@
 package com.oasis.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.oasis.model.ScheduleItem;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface ScheduleItemRepository extends JpaRepository<ScheduleItem, Long> {
+public interface ScheduleItemRepository extends JpaRepository<ScheduleItem, Long>, ScheduleItemRepositoryCustom {
+    
+    List<ScheduleItem> findByStudentKey(String studentKey);
+    
+    List<ScheduleItem> findByStudentKeyAndAcademicYearAndSemester(String studentKey, String academicYear, String semester);
+    
+    List<ScheduleItem> findByStudentKeyIn(Collection<String> studentKeys);
+    
+    List<ScheduleItem> findByStudentKeyInAndAcademicYearAndSemester(Collection<String> studentKeys, String academicYear, String semester);
+    
+    void deleteByStudentKey(String studentKey);
     
-    List<ScheduleItem> findByStudentIdIgnoreCase(String studentId);
+    void deleteByStudentKeyAndAcademicYearAndSemester(String studentKey, String academicYear, String semester);
     
-    List<ScheduleItem> findByStudentIdIgnoreCaseAndAcademicYearAndSemester(String studentId, String academicYear, String semester);
+    List<ScheduleItem> findByAcademicYearAndSemester(String academicYear, String semester);
     
-    void deleteByStudentIdIgnoreCase(String studentId);
+    // Keyset page ordered by id; null filters are ignored
+    @Query("SELECT s FROM ScheduleItem s WHERE (:after IS NULL OR s.id > :after)" +
+           " AND (:academicYear IS NULL OR s.academicYear = :academicYear) AND (:semester IS NULL OR s.semester = :semester)" +
+           " AND (:faculty IS NULL OR s.faculty = :faculty) ORDER BY s.id")
+    List<ScheduleItem> findPage(@Param("after") Long after, @Param("academicYear") String academicYear, @Param("semester") String semester,
+                        @Param("faculty") String faculty, Pageable pageable);
     
-    void deleteByStudentIdIgnoreCaseAndAcademicYearAndSemester(String studentId, String academicYear, String semester);
+    // Server-side cursor; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+    @Query("SELECT s FROM ScheduleItem s WHERE (:academicYear IS NULL OR s.academicYear = :academicYear)" +
+           " AND (:semester IS NULL OR s.semester = :semester) AND (:faculty IS NULL OR s.faculty = :faculty) ORDER BY s.id")
+    Stream<ScheduleItem> streamAll(@Param("academicYear") String academicYear, @Param("semester") String semester, @Param("faculty") String faculty);
 } 
\ No newline at end of file
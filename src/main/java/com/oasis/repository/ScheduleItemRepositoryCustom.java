@@ -0,0 +1,12 @@
+package com.oasis.repository;
+
+import java.util.List;
+
+import com.oasis.model.ScheduleItem;
+
+public interface ScheduleItemRepositoryCustom {
+
+    // Section timetable plus the student's own overrides, resolved in one query.
+    // Section entries come back with sectionId set; academicYear/semester may be null for all terms.
+    List<ScheduleItem> findMergedForStudent(String studentKey, String academicYear, String semester);
+}
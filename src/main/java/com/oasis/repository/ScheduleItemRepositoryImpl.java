@@ -0,0 +1,70 @@
+package com.oasis.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.oasis.model.ScheduleItem;
+
+public class ScheduleItemRepositoryImpl implements ScheduleItemRepositoryCustom {
+
+    private static final String COLUMNS =
+        "subject_code, description, units, lec, lab, day_time, room, faculty, academic_year, semester, day, start_time, end_time";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<ScheduleItem> findMergedForStudent(String studentKey, String academicYear, String semester) {
+        boolean byTerm = academicYear != null && semester != null;
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT si.id, si.student_id, NULL AS section_id, ").append(prefixed("si"))
+           .append(" FROM schedule_items si WHERE si.student_key = ?");
+        params.add(studentKey);
+        if (byTerm) {
+            sql.append(" AND si.academic_year = ? AND si.semester = ?");
+            params.add(academicYear);
+            params.add(semester);
+        }
+        sql.append(" UNION ALL SELECT ss.id, u.id, ss.section_id, ").append(prefixed("ss"))
+           .append(" FROM users u JOIN section_schedule_items ss ON ss.section_key = UPPER(TRIM(u.section))")
+           .append(" WHERE u.id_key = ?");
+        params.add(studentKey);
+        if (byTerm) {
+            sql.append(" AND ss.academic_year = ? AND ss.semester = ?");
+            params.add(academicYear);
+            params.add(semester);
+        }
+        // A per-student row for the same subject/term overrides the section entry
+        sql.append(" AND NOT EXISTS (SELECT 1 FROM schedule_items o WHERE o.student_key = u.id_key")
+           .append(" AND o.subject_code = ss.subject_code AND o.academic_year = ss.academic_year AND o.semester = ss.semester)");
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            ScheduleItem item = new ScheduleItem();
+            item.setId(rs.getLong("id"));
+            item.setStudentId(rs.getString("student_id"));
+            item.setSectionId(rs.getString("section_id"));
+            item.setSubjectCode(rs.getString("subject_code"));
+            item.setDescription(rs.getString("description"));
+            item.setUnits(rs.getObject("units", Integer.class));
+            item.setLec(rs.getObject("lec", Integer.class));
+            item.setLab(rs.getObject("lab", Integer.class));
+            item.setDayTime(rs.getString("day_time"));
+            item.setRoom(rs.getString("room"));
+            item.setFaculty(rs.getString("faculty"));
+            item.setAcademicYear(rs.getString("academic_year"));
+            item.setSemester(rs.getString("semester"));
+            item.setDay(rs.getString("day"));
+            item.setStartTime(rs.getString("start_time"));
+            item.setEndTime(rs.getString("end_time"));
+            return item;
+        }, params.toArray());
+    }
+
+    private static String prefixed(String alias) {
+        return alias + "." + COLUMNS.replace(", ", ", " + alias + ".");
+    }
+}
@@ -4,9 +4,11 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.oasis.model.Section;
+import com.oasis.model.SectionSummary;
 
 @Repository
 public interface SectionRepository extends JpaRepository<Section, String> {
@@ -18,4 +20,11 @@ public interface SectionRepository extends JpaRepository<Section, String> {
     Optional<Section> findByCourseCodeIgnoreCase(String courseCode);
     
     List<Section> findAllByCourseCodeIgnoreCase(String courseCode);
+
+    // Admin table projections: columns only, subject codes fetched as (sectionId, code) pairs in one query
+    @Query("SELECT new com.oasis.model.SectionSummary(s.id, s.name, s.courseCode, s.yearLevel, s.sectionLetter, s.facultyId, s.schedule, s.maxCapacity, s.currentEnrollment) FROM Section s ORDER BY s.id")
+    List<SectionSummary> findAllSummaries();
+
+    @Query("SELECT s.id, c FROM Section s JOIN s.subjectCodes c")
+    List<Object[]> findAllSubjectCodePairs();
 } 
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.oasis.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.oasis.model.SectionScheduleItem;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface SectionScheduleItemRepository extends JpaRepository<SectionScheduleItem, Long> {
+    
+    List<SectionScheduleItem> findBySectionKey(String sectionKey);
+    
+    List<SectionScheduleItem> findBySectionKeyAndAcademicYearAndSemester(String sectionKey, String academicYear, String semester);
+    
+    List<SectionScheduleItem> findBySectionKeyInAndAcademicYearAndSemester(Collection<String> sectionKeys, String academicYear, String semester);
+    
+    List<SectionScheduleItem> findByAcademicYearAndSemester(String academicYear, String semester);
+    
+    // Keyset page ordered by id; null filters are ignored
+    @Query("SELECT s FROM SectionScheduleItem s WHERE (:after IS NULL OR s.id > :after)" +
+           " AND (:academicYear IS NULL OR s.academicYear = :academicYear) AND (:semester IS NULL OR s.semester = :semester)" +
+           " AND (:faculty IS NULL OR s.faculty = :faculty) ORDER BY s.id")
+    List<SectionScheduleItem> findPage(@Param("after") Long after, @Param("academicYear") String academicYear, @Param("semester") String semester,
+                        @Param("faculty") String faculty, Pageable pageable);
+    
+    // Server-side cursor; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+    @Query("SELECT s FROM SectionScheduleItem s WHERE (:academicYear IS NULL OR s.academicYear = :academicYear)" +
+           " AND (:semester IS NULL OR s.semester = :semester) AND (:faculty IS NULL OR s.faculty = :faculty) ORDER BY s.id")
+    Stream<SectionScheduleItem> streamAll(@Param("academicYear") String academicYear, @Param("semester") String semester, @Param("faculty") String faculty);
+}
@@ -0,0 +1,12 @@
+package com.oasis.repository;
+
+/**
+ * Shared settings for repository methods that return a Stream over a server-side cursor.
+ */
+public final class StreamingQueries {
+
+    // MySQL Connector/J streams rows one by one (instead of buffering the whole result) only at Integer.MIN_VALUE
+    public static final String FETCH_SIZE = "-2147483648";
+
+    private StreamingQueries() {}
+}
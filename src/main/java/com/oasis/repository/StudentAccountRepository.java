@@ -1,11 +1,17 @@
 package com.oasis.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.oasis.model.StudentAccount;
+import com.oasis.model.StudentAccountSummary;
 
 @Repository
 public interface StudentAccountRepository extends JpaRepository<StudentAccount, String> {
@@ -13,4 +19,17 @@ public interface StudentAccountRepository extends JpaRepository<StudentAccount,
     Optional<StudentAccount> findByStudentIdIgnoreCase(String studentId);
     
     void deleteByStudentIdIgnoreCase(String studentId);
+    
+    // Admin table projection: columns only, payments come from the ledger
+    @Query("SELECT new com.oasis.model.StudentAccountSummary(a.studentId, a.totalBalance, a.remainingBalance, a.academicYear, a.semester) FROM StudentAccount a ORDER BY a.studentId")
+    List<StudentAccountSummary> findAllSummaries();
+    
+    // Keyset page of account ids ordered by student id; null filters are ignored
+    @Query("SELECT a.studentId FROM StudentAccount a WHERE (:after IS NULL OR a.studentId > :after)" +
+           " AND (:academicYear IS NULL OR a.academicYear = :academicYear) AND (:semester IS NULL OR a.semester = :semester)" +
+           " ORDER BY a.studentId")
+    List<String> findPageIds(@Param("after") String after, @Param("academicYear") String academicYear,
+                             @Param("semester") String semester, Pageable pageable);
+    
+    List<StudentAccount> findByStudentIdInOrderByStudentId(Collection<String> ids);
 } 
\ No newline at end of file
@@ -10,9 +10,9 @@ import com.oasis.model.StudentForm;
 @Repository
 public interface StudentFormRepository extends JpaRepository<StudentForm, Long> {
     
-    List<StudentForm> findByStudentIdIgnoreCaseOrderByRequestDateDesc(String studentId);
+    List<StudentForm> findByStudentKeyOrderByRequestDateDesc(String studentKey);
     
-    List<StudentForm> findByStudentIdIgnoreCaseAndStatusIgnoreCaseOrderByRequestDateDesc(String studentId, String status);
+    List<StudentForm> findByStudentKeyAndStatusIgnoreCaseOrderByRequestDateDesc(String studentKey, String status);
     
-    void deleteByStudentIdIgnoreCase(String studentId);
+    void deleteByStudentKey(String studentKey);
 } 
\ No newline at end of file
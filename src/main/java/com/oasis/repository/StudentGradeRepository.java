@@ -1,5 +1,6 @@
 package com.oasis.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,26 +14,29 @@ import com.oasis.model.StudentGrade;
 @Repository
 public interface StudentGradeRepository extends JpaRepository<StudentGrade, Long> {
     
-    List<StudentGrade> findByStudentIdIgnoreCase(String studentId);
+    List<StudentGrade> findByStudentKey(String studentKey);
     
     List<StudentGrade> findByStudentId(String studentId);
     
-    List<StudentGrade> findByStudentIdIgnoreCaseAndSemesterIgnoreCase(String studentId, String semester);
+    List<StudentGrade> findByStudentKeyAndSemesterIgnoreCase(String studentKey, String semester);
     
-    List<StudentGrade> findByStudentIdIgnoreCaseAndAcademicYearIgnoreCase(String studentId, String academicYear);
+    List<StudentGrade> findByStudentKeyAndAcademicYearIgnoreCase(String studentKey, String academicYear);
     
     List<StudentGrade> findByStudentIdAndSemesterAndAcademicYear(String studentId, String semester, String academicYear);
     
     List<StudentGrade> findByStudentIdAndSemesterAndAcademicYearAndIsReleasedTrue(String studentId, String semester, String academicYear);
     
-    List<StudentGrade> findByStudentIdIgnoreCaseAndSemesterIgnoreCaseAndAcademicYearIgnoreCase(String studentId, String semester, String academicYear);
+    List<StudentGrade> findByStudentKeyAndSemesterIgnoreCaseAndAcademicYearIgnoreCase(String studentKey, String semester, String academicYear);
     
-    void deleteByStudentIdIgnoreCase(String studentId);
+    void deleteByStudentKey(String studentKey);
 
     // Find all grades for a section, subject, academic year, and semester
     @Query("SELECT g FROM StudentGrade g WHERE g.subjectCode = :subjectCode AND g.academicYear = :academicYear AND g.semester = :semester AND g.studentId IN (SELECT u.id FROM User u WHERE u.section = :sectionId)")
     List<StudentGrade> findBySectionAndSubjectAndTerm(@Param("sectionId") String sectionId, @Param("subjectCode") String subjectCode, @Param("academicYear") String academicYear, @Param("semester") String semester);
 
+    // Existing grades of a batch of students for one subject/term (batch encode)
+    List<StudentGrade> findBySubjectCodeAndAcademicYearAndSemesterAndStudentKeyIn(String subjectCode, String academicYear, String semester, Collection<String> studentKeys);
+
     // Find a grade for a student/subject/term
     Optional<StudentGrade> findByStudentIdAndSubjectCodeAndAcademicYearAndSemester(String studentId, String subjectCode, String academicYear, String semester);
     
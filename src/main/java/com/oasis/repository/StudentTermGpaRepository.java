@@ -0,0 +1,19 @@
+package com.oasis.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.oasis.model.StudentTermGpa;
+
+@Repository
+public interface StudentTermGpaRepository extends JpaRepository<StudentTermGpa, Long> {
+    
+    Optional<StudentTermGpa> findByStudentKeyAndAcademicYearAndSemester(String studentKey, String academicYear, String semester);
+    
+    List<StudentTermGpa> findByStudentKey(String studentKey);
+    
+    void deleteByStudentKey(String studentKey);
+}
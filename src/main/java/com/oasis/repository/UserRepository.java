@@ -1,18 +1,65 @@
 package com.oasis.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.oasis.model.User;
+import com.oasis.model.UserSummary;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
     
-    Optional<User> findByIdIgnoreCase(String id);
+    Optional<User> findByIdKey(String idKey);
     
-    Optional<User> findByIdIgnoreCaseAndPassword(String id, String password);
+    Optional<User> findByIdKeyAndPassword(String idKey, String password);
     
-    Optional<User> findByIdIgnoreCaseAndRole(String id, String role);
+    Optional<User> findByIdKeyAndRole(String idKey, String role);
+
+    List<User> findByIdKeyIn(Collection<String> idKeys);
+
+    // Section roster lookup, served by idx_users_role_section
+    @Query("SELECT u.id FROM User u WHERE u.role = :role AND u.section = :section")
+    List<String> findIdsByRoleAndSection(@Param("role") String role, @Param("section") String section);
+
+    @Query("SELECT DISTINCT u.course FROM User u WHERE u.role = :role AND u.course IS NOT NULL")
+    List<String> findDistinctCoursesByRole(@Param("role") String role);
+
+    // Set-based course rename (course migration); column collation makes the match case-insensitive
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.course = :code WHERE u.role = :role AND u.course = :course")
+    int updateCourseByRoleAndCourse(@Param("role") String role, @Param("course") String course, @Param("code") String code);
+
+    // Admin table projections without the password column
+    @Query("SELECT new com.oasis.model.UserSummary(u.id, u.name, u.role, u.course, u.facultyId, u.status, u.admissionStatus, u.scholasticStatus, u.section, u.preferredCourseCode, u.currentSY, u.currentSem) FROM User u ORDER BY u.id")
+    List<UserSummary> findAllSummaries();
+
+    @Query("SELECT new com.oasis.model.UserSummary(u.id, u.name, u.role, u.course, u.facultyId, u.status, u.admissionStatus, u.scholasticStatus, u.section, u.preferredCourseCode, u.currentSY, u.currentSem) FROM User u WHERE u.id IN :ids ORDER BY u.id")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<String> ids);
+
+    // Keyset page ordered by id; null filters are ignored
+    @Query("SELECT u FROM User u WHERE (:after IS NULL OR u.id > :after)" +
+           " AND (:role IS NULL OR u.role = :role) AND (:course IS NULL OR u.course = :course)" +
+           " AND (:section IS NULL OR u.section = :section) AND (:status IS NULL OR u.status = :status) ORDER BY u.id")
+    List<User> findPage(@Param("after") String after, @Param("role") String role, @Param("course") String course,
+                        @Param("section") String section, @Param("status") String status, Pageable pageable);
+
+    // Server-side cursor; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+    @Query("SELECT u FROM User u WHERE (:role IS NULL OR u.role = :role) AND (:course IS NULL OR u.course = :course)" +
+           " AND (:section IS NULL OR u.section = :section) AND (:status IS NULL OR u.status = :status) ORDER BY u.id")
+    Stream<User> streamAll(@Param("role") String role, @Param("course") String course,
+                           @Param("section") String section, @Param("status") String status);
 } 
\ No newline at end of file
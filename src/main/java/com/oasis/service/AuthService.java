@@ -1,13 +1,16 @@
 package com.oasis.service;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,22 +18,30 @@ import com.oasis.model.AuthResponse;
 import com.oasis.model.Course;
 import com.oasis.model.EnrollmentRequest;
 import com.oasis.model.Faculty;
+import com.oasis.model.FacultySummary;
+import com.oasis.model.FreeSlot;
+import com.oasis.model.KeyNormalizer;
 import com.oasis.model.Message;
 import com.oasis.model.ScheduleItem;
 import com.oasis.model.Section;
+import com.oasis.model.SectionScheduleItem;
+import com.oasis.model.SectionSummary;
 import com.oasis.model.StudentAccount;
+import com.oasis.model.StudentAccountSummary;
 import com.oasis.model.StudentEnrollment;
 import com.oasis.model.StudentForm;
 import com.oasis.model.StudentGrade;
 import com.oasis.model.StudentSchedule;
 import com.oasis.model.Subject;
 import com.oasis.model.User;
+import com.oasis.model.UserSummary;
 import com.oasis.repository.CourseRepository;
 import com.oasis.repository.EnrollmentRequestRepository;
 import com.oasis.repository.FacultyRepository;
 import com.oasis.repository.MessageRepository;
 import com.oasis.repository.ScheduleItemRepository;
 import com.oasis.repository.SectionRepository;
+import com.oasis.repository.SectionScheduleItemRepository;
 import com.oasis.repository.StudentAccountRepository;
 import com.oasis.repository.StudentEnrollmentRepository;
 import com.oasis.repository.StudentFormRepository;
@@ -81,9 +92,45 @@ public class AuthService {
     @Autowired
     private ScheduleItemRepository scheduleItemRepository;
 
+    @Autowired
+    private SectionScheduleItemRepository sectionScheduleItemRepository;
+
+    @Autowired
+    private SectionRosterCache sectionRosterCache;
+
+    @Autowired
+    private ScheduleConflictIndex scheduleConflictIndex;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private CourseResolver courseResolver;
+
+    @Autowired
+    private StudentNumberAllocator studentNumberAllocator;
+
+    @Autowired
+    private InboxService inboxService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private PaymentLedgerService paymentLedgerService;
+
+    @Autowired
+    private GpaAggregateService gpaAggregateService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     // MODIFIED: Return AuthResponse
     public AuthResponse authenticate(String userId, String password) {
-        Optional<User> userOptional = userRepository.findByIdIgnoreCaseAndPassword(userId, password);
+        Optional<User> userOptional = userRepository.findByIdKeyAndPassword(KeyNormalizer.normalize(userId), password);
         if (userOptional.isPresent()) {
             User user = userOptional.get();
             return new AuthResponse(user.getId(), user.getName(), user.getRole(), "Login successful");
@@ -93,37 +140,30 @@ public class AuthService {
     }
 
     // MODIFIED: Return AuthResponse, takes individual fields
+    // User and account are written here; the welcome message and enrollment form go through the outbox
+    @Transactional
     public AuthResponse registerStudent(String studentId, String name, String birthday, String password, String course) {
         // Generate new ID if not provided or empty
         if (studentId == null || studentId.trim().isEmpty()) {
-            // Find the highest existing student number and increment
-            int maxNum = userRepository.findAll().stream()
-                .filter(u -> u.getId() != null && u.getId().matches("2025-\\d{5}-OA-0"))
-                .mapToInt(u -> Integer.parseInt(u.getId().substring(5, 10)))
-                .max().orElse(0);
-            int nextNum = maxNum + 1;
-            String padded = String.format("%05d", nextNum);
-            studentId = "2025-" + padded + "-OA-0";
-        }
-        // Always use course code
-        String courseCode = course;
-        List<Course> allCourses = courseRepository.findAll();
-        // If course is not a code, try to match by name
-        if (allCourses.stream().noneMatch(c -> c.getCode().equalsIgnoreCase(course))) {
-            Course match = allCourses.stream().filter(c -> c.getName().equalsIgnoreCase(course)).findFirst().orElse(null);
-            if (match != null) courseCode = match.getCode();
+            // Skip numbers someone already took by typing the id in
+            do {
+                studentId = studentNumberAllocator.nextStudentId();
+            } while (userRepository.findByIdKey(KeyNormalizer.normalize(studentId)).isPresent());
         }
-        if (userRepository.findByIdIgnoreCase(studentId).isEmpty()) {
+        // Always use course code (a course name is resolved to its code)
+        String courseCode = courseResolver.toCode(course);
+        if (userRepository.findByIdKey(KeyNormalizer.normalize(studentId)).isEmpty()) {
             User newStudent = new User(studentId, name, password, "student", courseCode, null);
             newStudent.setStatus("New Applicant");
             newStudent.setAdmissionStatus("New");
             newStudent.setScholasticStatus("Pending");
             newStudent.setPreferredCourseCode(courseCode);
             userRepository.save(newStudent);
+            sectionRosterCache.moveStudent(newStudent.getId(), null, newStudent.getSection());
             // Initialize student-specific data
             studentAccountRepository.save(new StudentAccount(studentId, 0.0, new ArrayList<>(), 0.0, "", ""));
-            messageRepository.save(new Message(studentId, "System", "Welcome!", "Your account has been created.", LocalDateTime.now().toString(), false));
-            studentFormRepository.save(new StudentForm(studentId, "Enrollment Form", LocalDate.now().toString(), "pending", "Processing"));
+            outboxService.sendMessage(studentId, "Welcome!", "Your account has been created.");
+            outboxService.createForm(studentId, "Enrollment Form", "pending", "Processing");
             return new AuthResponse(newStudent.getId(), newStudent.getName(), newStudent.getRole(), "Registration successful. Your Student ID is: " + newStudent.getId());
         }
         return new AuthResponse(null, null, null, "User ID already exists");
@@ -131,13 +171,24 @@ public class AuthService {
 
     // RENAMED from getUserDetails to getUserById to match AuthController's call
     public Optional<User> getUserById(String userId) {
-        return userRepository.findByIdIgnoreCase(userId);
+        return userRepository.findByIdKey(KeyNormalizer.normalize(userId));
     }
 
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    // Admin table view: one query, no password column
+    public List<UserSummary> getUserSummaries() {
+        return userRepository.findAllSummaries();
+    }
+
+    // Students in one section, resolved through the roster cache
+    public List<UserSummary> getStudentsBySection(String sectionId) {
+        List<String> studentIds = sectionRosterCache.getStudentIds(sectionId);
+        return studentIds.isEmpty() ? new ArrayList<>() : userRepository.findSummariesByIdIn(studentIds);
+    }
+
     public List<User> getStudents() {
         return userRepository.findAll().stream()
                 .filter(user -> "student".equals(user.getRole()))
@@ -152,22 +203,17 @@ public class AuthService {
 
     // --- Course Management ---
     public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+        return referenceDataCache.getCourses();
     }
 
     // --- Subject Management ---
     public List<Subject> getAllSubjects() {
-        return subjectRepository.findAll();
+        return referenceDataCache.getSubjects();
     }
 
+    // Served from the cached snapshot, where legacy null lec/lab are already 0
     public List<Subject> getSubjectsByCourse(String courseCode) {
-        List<Subject> subjects = subjectRepository.findByCourseCodeIgnoreCase(courseCode);
-        // Ensure lec/lab are not null (for legacy data)
-        for (Subject s : subjects) {
-            if (s.getLec() == null) s.setLec(0);
-            if (s.getLab() == null) s.setLab(0);
-        }
-        return subjects;
+        return referenceDataCache.getSubjectsByCourse(courseCode);
     }
 
     // --- Faculty Management ---
@@ -175,94 +221,78 @@ public class AuthService {
         return facultyRepository.findAll();
     }
 
+    // Admin table view, served from the reference-data cache
+    public List<FacultySummary> getFacultySummaries() {
+        return referenceDataCache.getFaculty();
+    }
+
     // --- Section Management ---
     public List<Section> getAllSections() {
         return sectionRepository.findAll();
     }
 
+    // Admin table view, served from the reference-data cache; courseCode is optional
+    public List<SectionSummary> getSectionSummaries(String courseCode) {
+        return courseCode != null && !courseCode.isEmpty()
+            ? referenceDataCache.getSectionsByCourse(courseCode)
+            : referenceDataCache.getSections();
+    }
+
     // --- Schedule Management ---
     public List<ScheduleItem> getAllSchedules() {
-        return scheduleItemRepository.findAll();
+        List<ScheduleItem> schedules = new ArrayList<>(scheduleItemRepository.findAll());
+        sectionScheduleItemRepository.findAll().forEach(item -> schedules.add(toScheduleItem(item, null)));
+        return schedules;
     }
 
+    // Section timetable merged with the student's own overrides
     public List<ScheduleItem> getStudentSchedules(String studentId, String academicYear, String semester) {
-        if (academicYear != null && semester != null) {
-            return scheduleItemRepository.findByStudentIdIgnoreCaseAndAcademicYearAndSemester(studentId, academicYear, semester);
-        } else {
-            return scheduleItemRepository.findByStudentIdIgnoreCase(studentId);
-        }
+        return scheduleItemRepository.findMergedForStudent(KeyNormalizer.normalize(studentId), academicYear, semester);
+    }
+
+    // Free windows common to the given faculty, room and section (any may be blank)
+    public List<FreeSlot> findFreeSlots(String academicYear, String semester, String faculty, String room, String sectionId,
+                                        String days, int durationMinutes, String from, String to) {
+        Map<ScheduleConflictIndex.Dimension, String> owners = new EnumMap<>(ScheduleConflictIndex.Dimension.class);
+        owners.put(ScheduleConflictIndex.Dimension.FACULTY, faculty);
+        owners.put(ScheduleConflictIndex.Dimension.ROOM, room);
+        owners.put(ScheduleConflictIndex.Dimension.SECTION, sectionId);
+        return scheduleConflictIndex.findFreeSlots(academicYear, semester, owners, days, durationMinutes, from, to);
     }
 
     public void addScheduleItem(ScheduleItem scheduleItem) {
-        // Validation: Prevent overlapping schedules for the same student (same day, room, academic year, semester)
-        List<ScheduleItem> studentSchedules = scheduleItemRepository.findByStudentIdIgnoreCaseAndAcademicYearAndSemester(
-            scheduleItem.getStudentId(), scheduleItem.getAcademicYear(), scheduleItem.getSemester());
-        for (ScheduleItem existing : studentSchedules) {
-            if (existing.getDay() != null && scheduleItem.getDay() != null &&
-                existing.getDay().compareTo(scheduleItem.getDay()) == 0 &&
-                existing.getStartTime() != null && scheduleItem.getStartTime() != null &&
-                existing.getEndTime() != null && scheduleItem.getEndTime() != null &&
-                existing.getStartTime().compareTo(scheduleItem.getEndTime()) < 0 &&
-                existing.getEndTime().compareTo(scheduleItem.getStartTime()) > 0 &&
-                existing.getRoom().equalsIgnoreCase(scheduleItem.getRoom())) {
-                throw new IllegalArgumentException("Schedule conflict: Student already has a class in this room at this day/time.");
-            }
-        }
-        // Validation: Prevent double-booking faculty (same day, academic year, semester)
-        if (scheduleItem.getFaculty() != null && !scheduleItem.getFaculty().isEmpty()) {
-            List<ScheduleItem> facultySchedules = scheduleItemRepository.findAll().stream()
-                .filter(s -> scheduleItem.getFaculty().equalsIgnoreCase(s.getFaculty()) &&
-                            scheduleItem.getAcademicYear().equalsIgnoreCase(s.getAcademicYear()) &&
-                            scheduleItem.getSemester().equalsIgnoreCase(s.getSemester()) &&
-                            scheduleItem.getDay() != null && scheduleItem.getStartTime() != null && scheduleItem.getEndTime() != null &&
-                            s.getDay() != null && s.getStartTime() != null && s.getEndTime() != null &&
-                            s.getDay().compareTo(scheduleItem.getDay()) == 0 &&
-                            s.getStartTime().compareTo(scheduleItem.getEndTime()) < 0 &&
-                            s.getEndTime().compareTo(scheduleItem.getStartTime()) > 0)
-                .toList();
-            if (!facultySchedules.isEmpty()) {
-                throw new IllegalArgumentException("Schedule conflict: Faculty is already assigned to another class at this day/time.");
-            }
+        // Validation: the student, their section timetable, the faculty and the room must all be free
+        String conflict = scheduleConflictIndex.findConflict(ScheduleConflictIndex.Candidate.of(scheduleItem)
+            .overridingSection(getStudentSection(scheduleItem.getStudentId())));
+        if (conflict != null) {
+            throw new IllegalArgumentException(conflict);
         }
-        scheduleItemRepository.save(scheduleItem);
+        ScheduleItem saved = scheduleItemRepository.save(scheduleItem);
+        scheduleConflictIndex.indexSchedule(saved);
     }
 
+    @Transactional
     public void addBulkScheduleItems(List<ScheduleItem> scheduleItems) {
-        scheduleItemRepository.saveAll(scheduleItems);
+        Map<String, String> sections = new HashMap<>();
+        List<ScheduleConflictIndex.Candidate> batch = scheduleItems.stream()
+            .map(item -> ScheduleConflictIndex.Candidate.of(item).overridingSection(
+                sections.computeIfAbsent(KeyNormalizer.normalize(item.getStudentId()), key -> getStudentSection(item.getStudentId()))))
+            .toList();
+        List<String> conflicts = scheduleConflictIndex.findConflicts(batch);
+        if (!conflicts.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", conflicts));
+        }
+        scheduleItemRepository.saveAll(scheduleItems).forEach(scheduleConflictIndex::indexSchedule);
     }
 
     public void updateScheduleItem(Long id, ScheduleItem scheduleItem) {
         scheduleItemRepository.findById(id).ifPresent(existingItem -> {
-            // Validation: Prevent overlapping schedules for the same student (ignore current item)
-            List<ScheduleItem> studentSchedules = scheduleItemRepository.findByStudentIdIgnoreCaseAndAcademicYearAndSemester(
-                scheduleItem.getStudentId(), scheduleItem.getAcademicYear(), scheduleItem.getSemester());
-            for (ScheduleItem s : studentSchedules) {
-                if (!s.getId().equals(id) &&
-                    s.getDay() != null && scheduleItem.getDay() != null &&
-                    s.getStartTime() != null && scheduleItem.getStartTime() != null &&
-                    s.getEndTime() != null && scheduleItem.getEndTime() != null &&
-                    s.getStartTime().compareTo(scheduleItem.getEndTime()) < 0 &&
-                    s.getEndTime().compareTo(scheduleItem.getStartTime()) > 0 &&
-                    s.getRoom().equalsIgnoreCase(scheduleItem.getRoom())) {
-                    throw new IllegalArgumentException("Schedule conflict: Student already has a class in this room at this day/time.");
-                }
-            }
-            // Validation: Prevent double-booking faculty (ignore current item)
-            if (scheduleItem.getFaculty() != null && !scheduleItem.getFaculty().isEmpty()) {
-                List<ScheduleItem> facultySchedules = scheduleItemRepository.findAll().stream()
-                    .filter(s -> !s.getId().equals(id) &&
-                                scheduleItem.getFaculty().equalsIgnoreCase(s.getFaculty()) &&
-                                scheduleItem.getAcademicYear().equalsIgnoreCase(s.getAcademicYear()) &&
-                                scheduleItem.getSemester().equalsIgnoreCase(s.getSemester()) &&
-                                scheduleItem.getDay() != null && scheduleItem.getStartTime() != null && scheduleItem.getEndTime() != null &&
-                                s.getDay() != null && s.getStartTime() != null && s.getEndTime() != null &&
-                                s.getDay().compareTo(scheduleItem.getDay()) == 0 &&
-                                s.getStartTime().compareTo(scheduleItem.getEndTime()) < 0 &&
-                                s.getEndTime().compareTo(scheduleItem.getStartTime()) > 0)
-                    .toList();
-                if (!facultySchedules.isEmpty()) {
-                    throw new IllegalArgumentException("Schedule conflict: Faculty is already assigned to another class at this day/time.");
-                }
+            // Validation: same checks as add, ignoring the item being updated
+            String conflict = scheduleConflictIndex.findConflict(ScheduleConflictIndex.Candidate.of(scheduleItem)
+                .overridingSection(getStudentSection(scheduleItem.getStudentId()))
+                .excluding(id));
+            if (conflict != null) {
+                throw new IllegalArgumentException(conflict);
             }
             // Update fields
             existingItem.setStudentId(scheduleItem.getStudentId());
@@ -278,12 +308,35 @@ public class AuthService {
             existingItem.setFaculty(scheduleItem.getFaculty());
             existingItem.setAcademicYear(scheduleItem.getAcademicYear());
             existingItem.setSemester(scheduleItem.getSemester());
-            scheduleItemRepository.save(existingItem);
+            scheduleConflictIndex.indexSchedule(scheduleItemRepository.save(existingItem));
+        });
+        // Ids are shared with the section timetable, so a miss above may be a section entry
+        sectionScheduleItemRepository.findById(id).ifPresent(existingItem -> {
+            String conflict = scheduleConflictIndex.findConflict(ScheduleConflictIndex.Candidate
+                .ofSection(existingItem.getSectionId(), sectionRosterCache.getStudentIds(existingItem.getSectionId()), scheduleItem)
+                .excluding(id));
+            if (conflict != null) {
+                throw new IllegalArgumentException(conflict);
+            }
+            copyScheduleDetails(scheduleItem, existingItem);
+            scheduleConflictIndex.indexSectionSchedule(sectionScheduleItemRepository.save(existingItem));
         });
     }
 
     public void deleteScheduleItem(Long id) {
-        scheduleItemRepository.deleteById(id);
+        if (scheduleItemRepository.existsById(id)) {
+            scheduleItemRepository.deleteById(id);
+            scheduleConflictIndex.remove(id);
+        } else if (sectionScheduleItemRepository.existsById(id)) {
+            sectionScheduleItemRepository.deleteById(id);
+            scheduleConflictIndex.remove(id);
+        }
+    }
+
+    private String getStudentSection(String studentId) {
+        return userRepository.findByIdKey(KeyNormalizer.normalize(studentId))
+            .map(User::getSection)
+            .orElse(null);
     }
 
     // --- Enrollment Request Management ---
@@ -300,6 +353,8 @@ public class AuthService {
         }
     }
 
+    // One transaction for the request, user, enrollment and account; notifications are queued in the outbox
+    @Transactional
     public void processEnrollmentRequest(String requestId, String status, String remarks) {
         try {
             Long id = Long.parseLong(requestId);
@@ -310,7 +365,17 @@ public class AuthService {
 
                 if ("approved".equals(status)) {
                     // Update user status and course information
-                    userRepository.findByIdIgnoreCase(request.getStudentId()).ifPresent(user -> {
+                    userRepository.findByIdKey(KeyNormalizer.normalize(request.getStudentId())).ifPresent(user -> {
+                        // Approval into a section takes one of its seats
+                        String sectionId = request.getSectionId();
+                        if (sectionId != null && !sectionId.isBlank()) {
+                            String prevSection = user.getSection();
+                            if (!seatReservationService.move(prevSection, sectionId)) {
+                                throw new IllegalStateException("Section " + sectionId + " is full");
+                            }
+                            user.setSection(sectionId);
+                            sectionRosterCache.moveStudent(user.getId(), prevSection, sectionId);
+                        }
                         user.setStatus("Enrolled");
                         user.setCourse(request.getCourse());
                         user.setAdmissionStatus("Enrolled - New");
@@ -351,10 +416,12 @@ public class AuthService {
                     }
 
                     // Send notification message
-                    messageRepository.save(new Message(request.getStudentId(), "System", "Enrollment Approved!", "Congratulations! Your enrollment for " + request.getCourse() + " has been approved.", LocalDateTime.now().toString(), false));
+                    outboxService.sendMessage(request.getStudentId(), "Enrollment Approved!", "Congratulations! Your enrollment for " + request.getCourse() + " has been approved.");
                 } else if ("rejected".equals(status)) {
-                    messageRepository.save(new Message(request.getStudentId(), "System", "Enrollment Rejected", "Your enrollment request for " + request.getCourse() + " was rejected. Reason: " + remarks, LocalDateTime.now().toString(), false));
+                    outboxService.sendMessage(request.getStudentId(), "Enrollment Rejected", "Your enrollment request for " + request.getCourse() + " was rejected. Reason: " + remarks);
                 }
+                outboxService.notifyStudent(request.getStudentId(), NotificationHub.ENROLLMENT);
+                outboxService.notifyAdmins(NotificationHub.ENROLLMENT);
             });
         } catch (NumberFormatException e) {
             // Handle invalid ID format
@@ -369,7 +436,7 @@ public class AuthService {
 
     // --- Student Account Retrieval and Update ---
     public Optional<StudentAccount> getStudentAccountDetails(String studentId) {
-        return studentAccountRepository.findByStudentIdIgnoreCase(studentId);
+        return studentAccountRepository.findByStudentIdIgnoreCase(studentId).map(paymentLedgerService::attachPayments);
     }
 
     public void updateStudentAccount(StudentAccount account) {
@@ -387,21 +454,24 @@ public class AuthService {
 
     // --- Student Grade Retrieval and Update ---
     public Optional<List<StudentGrade>> getStudentGrades(String studentId) {
-        return Optional.of(studentGradeRepository.findByStudentIdIgnoreCase(studentId));
+        return Optional.of(studentGradeRepository.findByStudentKey(KeyNormalizer.normalize(studentId)));
     }
 
+    // One transaction, so the GPA aggregate cannot fall out of step with the saved grade
+    @Transactional
     public void updateStudentGrade(String studentId, StudentGrade grade) {
-        studentGradeRepository.save(grade);
+        GpaAggregateService.Contribution before = gpaAggregateService.stored(grade.getId());
+        gpaAggregateService.apply(before, studentGradeRepository.save(grade));
     }
 
     // --- Student Inbox Retrieval ---
     public Optional<List<Message>> getStudentInbox(String studentId) {
-        return Optional.of(messageRepository.findByStudentIdIgnoreCaseOrderByTimestampDesc(studentId));
+        return Optional.of(messageRepository.findByStudentKeyOrderByTimestampDesc(KeyNormalizer.normalize(studentId)));
     }
 
     // --- Student Forms Retrieval ---
     public Optional<List<StudentForm>> getStudentForms(String studentId) {
-        return Optional.of(studentFormRepository.findByStudentIdIgnoreCaseOrderByRequestDateDesc(studentId));
+        return Optional.of(studentFormRepository.findByStudentKeyOrderByRequestDateDesc(KeyNormalizer.normalize(studentId)));
     }
 
     public List<EnrollmentRequest> getAllEnrollmentRequests() {
@@ -410,6 +480,7 @@ public class AuthService {
 
     public void addSubject(Subject subject) {
         subjectRepository.save(subject);
+        referenceDataCache.invalidateSubjects();
     }
 
     public void updateSubject(String code, Subject subject) {
@@ -420,14 +491,17 @@ public class AuthService {
             existingSubject.setDescription(subject.getDescription());
             subjectRepository.save(existingSubject);
         });
+        referenceDataCache.invalidateSubjects();
     }
 
     public void deleteSubject(String code) {
         subjectRepository.findByCodeIgnoreCase(code).ifPresent(subjectRepository::delete);
+        referenceDataCache.invalidateSubjects();
     }
 
     public void addCourse(Course course) {
         courseRepository.save(course);
+        referenceDataCache.invalidateCourses();
     }
 
     public void updateCourse(String code, Course course) {
@@ -435,14 +509,18 @@ public class AuthService {
             existingCourse.setName(course.getName());
             courseRepository.save(existingCourse);
         });
+        referenceDataCache.invalidateCourses();
     }
 
     public void deleteCourse(String code) {
         courseRepository.findByCodeIgnoreCase(code).ifPresent(courseRepository::delete);
+        referenceDataCache.invalidateCourses();
     }
 
     public void addSection(Section section) {
         sectionRepository.save(section);
+        referenceDataCache.invalidateSections();
+        seatReservationService.refresh(section.getId());
     }
 
     public void updateSection(String code, Section section) {
@@ -452,17 +530,22 @@ public class AuthService {
             existingSection.setFacultyId(section.getFacultyId());
             existingSection.setSchedule(section.getSchedule());
             existingSection.setMaxCapacity(section.getMaxCapacity());
-            existingSection.setCurrentEnrollment(section.getCurrentEnrollment());
+            // current_enrollment is owned by SeatReservationService
             sectionRepository.save(existingSection);
         });
+        referenceDataCache.invalidateSections();
+        seatReservationService.refresh(code);
     }
 
     public void deleteSection(String code) {
         sectionRepository.findByIdIgnoreCase(code).ifPresent(sectionRepository::delete);
+        referenceDataCache.invalidateSections();
+        seatReservationService.refresh(code);
     }
 
     public void addFaculty(Faculty faculty) {
         facultyRepository.save(faculty);
+        referenceDataCache.invalidateFaculty();
     }
 
     public void updateFaculty(String id, Faculty faculty) {
@@ -475,25 +558,24 @@ public class AuthService {
             existingFaculty.setAssignedSubjects(faculty.getAssignedSubjects());
             facultyRepository.save(existingFaculty);
         });
+        referenceDataCache.invalidateFaculty();
     }
 
     public void deleteFaculty(String id) {
         facultyRepository.deleteById(id);
+        referenceDataCache.invalidateFaculty();
     }
 
+    @Transactional
     public void updateUser(String id, User user) {
         // Always use course code
-        String inputCourse = user.getCourse();
-        List<Course> allCourses = courseRepository.findAll();
-        String resolvedCourseCode = inputCourse;
-        if (allCourses.stream().noneMatch(c -> c.getCode().equalsIgnoreCase(inputCourse))) {
-            Course match = allCourses.stream().filter(c -> c.getName().equalsIgnoreCase(inputCourse)).findFirst().orElse(null);
-            if (match != null) resolvedCourseCode = match.getCode();
-        }
-        final String finalCourseCode = resolvedCourseCode;
-        userRepository.findByIdIgnoreCase(id).ifPresent(existingUser -> {
+        final String finalCourseCode = courseResolver.toCode(user.getCourse());
+        userRepository.findByIdKey(KeyNormalizer.normalize(id)).ifPresent(existingUser -> {
             // Track previous section
             String prevSection = existingUser.getSection();
+            if ("student".equalsIgnoreCase(existingUser.getRole()) && !seatReservationService.move(prevSection, user.getSection())) {
+                throw new IllegalStateException("Section " + user.getSection() + " is full");
+            }
             // Update fields but preserve the ID
             existingUser.setName(user.getName());
             if (user.getPassword() != null && !user.getPassword().trim().isEmpty()) {
@@ -508,70 +590,65 @@ public class AuthService {
             existingUser.setCurrentSY(user.getCurrentSY());
             existingUser.setCurrentSem(user.getCurrentSem());
             userRepository.save(existingUser);
-            // If section changed and is not null, assign all section schedules to this student
             String newSection = user.getSection();
+            if ("student".equalsIgnoreCase(existingUser.getRole())) {
+                sectionRosterCache.moveStudent(existingUser.getId(), prevSection, newSection);
+            }
+            // The section timetable is shared, so a section change only drops this term's overrides
+            // of subjects on the previous section's timetable; other terms and extra subjects stay
             if (newSection != null && !newSection.isEmpty() && !newSection.equals(prevSection)) {
-                // Find all schedules for this section (by looking for other students in the section)
-                List<User> sectionStudents = getAllUsers().stream()
-                    .filter(u -> "student".equalsIgnoreCase(u.getRole()) && newSection.equalsIgnoreCase(u.getSection()) && !u.getId().equals(id))
-                    .toList();
-                List<ScheduleItem> sectionSchedules = new ArrayList<>();
-                for (User s : sectionStudents) {
-                    List<ScheduleItem> scheds = scheduleItemRepository.findByStudentIdIgnoreCase(s.getId());
-                    sectionSchedules.addAll(scheds);
-                }
-                // Remove existing schedules for this student for the same academic year/semester/subject
-                List<ScheduleItem> mySchedules = scheduleItemRepository.findByStudentIdIgnoreCase(id);
-                for (ScheduleItem sched : mySchedules) {
-                    scheduleItemRepository.delete(sched);
-                }
-                // Assign all section schedules to this student
-                for (ScheduleItem sched : sectionSchedules) {
-                    ScheduleItem newSched = new ScheduleItem();
-                    newSched.setStudentId(id);
-                    newSched.setSubjectCode(sched.getSubjectCode());
-                    newSched.setDescription(sched.getDescription());
-                    newSched.setUnits(sched.getUnits());
-                    newSched.setLec(sched.getLec());
-                    newSched.setLab(sched.getLab());
-                    newSched.setDay(sched.getDay());
-                    newSched.setStartTime(sched.getStartTime());
-                    newSched.setEndTime(sched.getEndTime());
-                    newSched.setRoom(sched.getRoom());
-                    newSched.setFaculty(sched.getFaculty());
-                    newSched.setAcademicYear(sched.getAcademicYear());
-                    newSched.setSemester(sched.getSemester());
-                    scheduleItemRepository.save(newSched);
-                }
+                dropSectionOverrides(id, prevSection, existingUser.getCurrentSY(), existingUser.getCurrentSem());
             }
         });
     }
 
+    private void dropSectionOverrides(String studentId, String sectionId, String academicYear, String semester) {
+        if (sectionId == null || sectionId.isEmpty() || academicYear == null || semester == null) {
+            return;
+        }
+        List<String> sectionSubjects = sectionScheduleItemRepository
+            .findBySectionKeyAndAcademicYearAndSemester(KeyNormalizer.normalize(sectionId), academicYear, semester).stream()
+            .map(SectionScheduleItem::getSubjectCode)
+            .toList();
+        List<ScheduleItem> overrides = scheduleItemRepository
+            .findByStudentKeyAndAcademicYearAndSemester(KeyNormalizer.normalize(studentId), academicYear, semester).stream()
+            .filter(item -> sectionSubjects.stream().anyMatch(code -> code != null && code.equalsIgnoreCase(item.getSubjectCode())))
+            .toList();
+        if (!overrides.isEmpty()) {
+            scheduleItemRepository.deleteAll(overrides);
+            overrides.forEach(item -> scheduleConflictIndex.remove(item.getId()));
+        }
+    }
+
     @Transactional
     public void deleteUser(String id) {
         try {
             System.out.println("Attempting to delete user with ID: " + id);
-            userRepository.findByIdIgnoreCase(id).ifPresent(user -> {
+            userRepository.findByIdKey(KeyNormalizer.normalize(id)).ifPresent(user -> {
                 System.out.println("Found user: " + user.getName() + " with role: " + user.getRole());
                 // Delete related data, but never fail if one is missing
-                try { studentAccountRepository.deleteByStudentIdIgnoreCase(id); } catch (Exception e) { System.err.println("[WARN] Could not delete student account: " + e.getMessage()); }
+                try { studentAccountRepository.deleteByStudentIdIgnoreCase(id); paymentLedgerService.deleteForStudent(id); } catch (Exception e) { System.err.println("[WARN] Could not delete student account: " + e.getMessage()); }
                 try { studentEnrollmentRepository.deleteByStudentIdIgnoreCase(id); } catch (Exception e) { System.err.println("[WARN] Could not delete student enrollment: " + e.getMessage()); }
                 try { studentScheduleRepository.deleteByStudentIdIgnoreCase(id); } catch (Exception e) { System.err.println("[WARN] Could not delete student schedule: " + e.getMessage()); }
-                try { studentGradeRepository.deleteByStudentIdIgnoreCase(id); } catch (Exception e) { System.err.println("[WARN] Could not delete student grades: " + e.getMessage()); }
-                try { messageRepository.deleteByStudentIdIgnoreCase(id); } catch (Exception e) { System.err.println("[WARN] Could not delete messages: " + e.getMessage()); }
-                try { studentFormRepository.deleteByStudentIdIgnoreCase(id); } catch (Exception e) { System.err.println("[WARN] Could not delete student forms: " + e.getMessage()); }
-                try { enrollmentRequestRepository.deleteByStudentIdIgnoreCase(id); } catch (Exception e) { System.err.println("[WARN] Could not delete enrollment requests: " + e.getMessage()); }
-                try { scheduleItemRepository.deleteByStudentIdIgnoreCase(id); } catch (Exception e) { System.err.println("[WARN] Could not delete schedule items: " + e.getMessage()); }
+                try { studentGradeRepository.deleteByStudentKey(KeyNormalizer.normalize(id)); gpaAggregateService.deleteForStudent(id); } catch (Exception e) { System.err.println("[WARN] Could not delete student grades: " + e.getMessage()); }
+                try { inboxService.deleteForStudent(id); } catch (Exception e) { System.err.println("[WARN] Could not delete messages: " + e.getMessage()); }
+                try { studentFormRepository.deleteByStudentKey(KeyNormalizer.normalize(id)); } catch (Exception e) { System.err.println("[WARN] Could not delete student forms: " + e.getMessage()); }
+                try { enrollmentRequestRepository.deleteByStudentKey(KeyNormalizer.normalize(id)); } catch (Exception e) { System.err.println("[WARN] Could not delete enrollment requests: " + e.getMessage()); }
+                try { List<ScheduleItem> overrides = scheduleItemRepository.findByStudentKey(KeyNormalizer.normalize(id)); scheduleItemRepository.deleteAll(overrides); overrides.forEach(item -> scheduleConflictIndex.remove(item.getId())); } catch (Exception e) { System.err.println("[WARN] Could not delete schedule items: " + e.getMessage()); }
                 // Finally delete the user
                 try {
                     userRepository.delete(user);
+                    sectionRosterCache.removeStudent(user.getId(), user.getSection());
+                    if ("student".equalsIgnoreCase(user.getRole())) {
+                        seatReservationService.release(user.getSection());
+                    }
                     System.out.println("Successfully deleted user: " + id);
                 } catch (Exception e) {
                     System.err.println("[ERROR] Could not delete user: " + e.getMessage());
                     throw new RuntimeException("Failed to delete user: " + e.getMessage(), e);
                 }
             });
-            if (!userRepository.findByIdIgnoreCase(id).isPresent()) {
+            if (!userRepository.findByIdKey(KeyNormalizer.normalize(id)).isPresent()) {
                 System.out.println("User " + id + " was not found for deletion");
             }
         } catch (Exception e) {
@@ -582,24 +659,21 @@ public class AuthService {
     }
 
     public List<StudentAccount> getAllStudentAccounts() {
-        return studentAccountRepository.findAll();
+        return paymentLedgerService.attachPayments(studentAccountRepository.findAll());
+    }
+
+    // Admin table view: two queries regardless of row count
+    public List<StudentAccountSummary> getStudentAccountSummaries() {
+        List<StudentAccountSummary> accounts = studentAccountRepository.findAllSummaries();
+        Map<String, List<String>> payments = paymentLedgerService.paymentInfoByStudent();
+        accounts.forEach(a -> a.getPayments().addAll(payments.getOrDefault(KeyNormalizer.normalize(a.getStudentId()), List.of())));
+        return accounts;
     }
 
+    // Appends to the payment ledger; the balance is decremented in SQL, so concurrent payments do not lose updates
     public boolean processStudentPayment(String studentId, double amount, String date, String description) {
         System.out.println("Received payment: " + amount + " for student " + studentId);
-        Optional<StudentAccount> accountOpt = studentAccountRepository.findByStudentIdIgnoreCase(studentId);
-        if (accountOpt.isPresent()) {
-            StudentAccount account = accountOpt.get();
-            String paymentInfo = String.format("%s: %.2f - %s", date, amount, description);
-            List<String> payments = account.getPayments();
-            payments.add(paymentInfo);
-            account.setPayments(payments);
-            double newBalance = account.getRemainingBalance() - amount;
-            account.setRemainingBalance(newBalance);
-            studentAccountRepository.save(account);
-            return true;
-        }
-        return false;
+        return paymentLedgerService.recordPayment(studentId, amount, date, description);
     }
 
     public void ensureSubjectsForAllCourses() {
@@ -618,7 +692,7 @@ public class AuthService {
     }
 
     public void ensureSectionExists() {
-        if (getAllSections().isEmpty()) {
+        if (sectionRepository.count() == 0) {
             // Create a generic section for the first available course (or generic if none)
             List<Course> courses = getAllCourses();
             String courseCode = courses.isEmpty() ? "GEN" : courses.get(0).getCode();
@@ -639,7 +713,7 @@ public class AuthService {
     }
 
     public void ensureFacultyExists() {
-        if (getAllFaculty().isEmpty()) {
+        if (facultyRepository.count() == 0) {
             Faculty faculty = new Faculty(
                 "F-001",
                 "Default Faculty",
@@ -653,25 +727,16 @@ public class AuthService {
         }
     }
 
-    // Batch update all students to use course codes in their course field
+    // Batch update all students to use course codes in their course field:
+    // one UPDATE per distinct course name still stored on student rows
     @Transactional
     public int batchUpdateStudentCoursesToCode() {
-        List<Course> courses = courseRepository.findAll();
-        List<User> students = userRepository.findAll().stream()
-            .filter(u -> "student".equalsIgnoreCase(u.getRole()))
-            .collect(Collectors.toList());
         int updated = 0;
-        for (User student : students) {
-            if (student.getCourse() == null) continue;
-            // If already a code, skip
-            boolean isCode = courses.stream().anyMatch(c -> c.getCode().equalsIgnoreCase(student.getCourse()));
-            if (isCode) continue;
-            // Try to match by name
-            Course match = courses.stream().filter(c -> c.getName().equalsIgnoreCase(student.getCourse())).findFirst().orElse(null);
-            if (match != null) {
-                student.setCourse(match.getCode());
-                userRepository.save(student);
-                updated++;
+        for (String value : userRepository.findDistinctCoursesByRole("student")) {
+            if (courseResolver.isCode(value)) continue;
+            Optional<Course> match = courseResolver.resolve(value);
+            if (match.isPresent()) {
+                updated += userRepository.updateCourseByRoleAndCourse("student", value, match.get().getCode());
             }
         }
         return updated;
@@ -681,81 +746,160 @@ public class AuthService {
         return sectionRepository.findAllByCourseCodeIgnoreCase(courseCode);
     }
 
-    public int addBulkScheduleItemsBySection(String sectionId, ScheduleItem scheduleDetails) {
-        // Find all students in the section
-        List<User> students = getAllUsers().stream()
-            .filter(u -> "student".equalsIgnoreCase(u.getRole()) && sectionId.equalsIgnoreCase(u.getSection()))
-            .toList();
-        List<String> conflictStudents = new ArrayList<>();
-        for (User student : students) {
-            List<ScheduleItem> existing = getStudentSchedules(student.getId(), scheduleDetails.getAcademicYear(), scheduleDetails.getSemester());
-            for (ScheduleItem sched : existing) {
-                if (sched.getDay().equalsIgnoreCase(scheduleDetails.getDay()) &&
-                    timesOverlap(sched.getStartTime(), sched.getEndTime(), scheduleDetails.getStartTime(), scheduleDetails.getEndTime())) {
-                    conflictStudents.add(student.getId());
-                    break;
-                }
-            }
+    /**
+     * One-time move of section timetables that were stored as identical per-student copies into
+     * section_schedule_items: an entry every current student of a section holds becomes one section
+     * row and the copies are deleted. Runs only while section_schedule_items is empty; entries not
+     * shared by the whole section stay as per-student overrides. Returns the number of section rows written.
+     */
+    @Transactional
+    public int migrateSectionScheduleCopies() {
+        if (sectionScheduleItemRepository.count() > 0) {
+            return 0;
         }
-        if (!conflictStudents.isEmpty()) {
-            throw new RuntimeException("Overlapping schedule detected for students: " + String.join(", ", conflictStudents));
+        List<SectionScheduleItem> shared = jdbcTemplate.query(
+            "SELECT MIN(TRIM(u.section)) AS section_id, si.subject_code, si.description, si.units, si.lec, si.lab," +
+            " si.day_time, si.room, si.faculty, si.academic_year, si.semester, si.day, si.start_time, si.end_time" +
+            " FROM schedule_items si JOIN users u ON u.id_key = si.student_key" +
+            " JOIN (SELECT UPPER(TRIM(section)) AS section_key, COUNT(*) AS roster FROM users" +
+            "   WHERE LOWER(role) = 'student' AND section IS NOT NULL AND TRIM(section) <> ''" +
+            "   GROUP BY UPPER(TRIM(section))) r ON r.section_key = UPPER(TRIM(u.section))" +
+            " WHERE LOWER(u.role) = 'student'" +
+            " GROUP BY r.section_key, r.roster, si.subject_code, si.description, si.units, si.lec, si.lab," +
+            " si.day_time, si.room, si.faculty, si.academic_year, si.semester, si.day, si.start_time, si.end_time" +
+            " HAVING COUNT(DISTINCT si.student_key) = r.roster",
+            (rs, rowNum) -> {
+                SectionScheduleItem item = new SectionScheduleItem();
+                item.setSectionId(rs.getString("section_id"));
+                item.setSubjectCode(rs.getString("subject_code"));
+                item.setDescription(rs.getString("description"));
+                item.setUnits(rs.getObject("units", Integer.class));
+                item.setLec(rs.getObject("lec", Integer.class));
+                item.setLab(rs.getObject("lab", Integer.class));
+                item.setDayTime(rs.getString("day_time"));
+                item.setRoom(rs.getString("room"));
+                item.setFaculty(rs.getString("faculty"));
+                item.setAcademicYear(rs.getString("academic_year"));
+                item.setSemester(rs.getString("semester"));
+                item.setDay(rs.getString("day"));
+                item.setStartTime(rs.getString("start_time"));
+                item.setEndTime(rs.getString("end_time"));
+                return item;
+            });
+        if (shared.isEmpty()) {
+            return 0;
         }
-        List<ScheduleItem> items = new ArrayList<>();
-        for (User student : students) {
-            ScheduleItem item = new ScheduleItem();
-            item.setStudentId(student.getId());
-            item.setSubjectCode(scheduleDetails.getSubjectCode());
-            item.setDescription(scheduleDetails.getDescription());
-            item.setUnits(scheduleDetails.getUnits());
-            item.setLec(scheduleDetails.getLec());
-            item.setLab(scheduleDetails.getLab());
-            item.setDay(scheduleDetails.getDay());
-            item.setStartTime(scheduleDetails.getStartTime());
-            item.setEndTime(scheduleDetails.getEndTime());
-            item.setRoom(scheduleDetails.getRoom());
-            item.setFaculty(scheduleDetails.getFaculty());
-            item.setAcademicYear(scheduleDetails.getAcademicYear());
-            item.setSemester(scheduleDetails.getSemester());
-            items.add(item);
+        sectionScheduleItemRepository.saveAllAndFlush(shared);
+        // Null-safe match on every column, so only exact copies of a section row go
+        int removed = jdbcTemplate.update(
+            "DELETE si FROM schedule_items si JOIN users u ON u.id_key = si.student_key" +
+            " JOIN section_schedule_items ss ON ss.section_key = UPPER(TRIM(u.section))" +
+            " AND ss.subject_code <=> si.subject_code AND ss.description <=> si.description AND ss.units <=> si.units" +
+            " AND ss.lec <=> si.lec AND ss.lab <=> si.lab AND ss.day_time <=> si.day_time AND ss.room <=> si.room" +
+            " AND ss.faculty <=> si.faculty AND ss.academic_year <=> si.academic_year AND ss.semester <=> si.semester" +
+            " AND ss.day <=> si.day AND ss.start_time <=> si.start_time AND ss.end_time <=> si.end_time" +
+            " WHERE LOWER(u.role) = 'student'");
+        scheduleConflictIndex.reset();
+        System.out.println("Moved " + removed + " per-student schedule copies into " + shared.size() + " section timetable entries");
+        return shared.size();
+    }
+
+    // Adds one shared entry to the section timetable; returns the number of students it reaches
+    @Transactional
+    public int addBulkScheduleItemsBySection(String sectionId, ScheduleItem scheduleDetails) {
+        // Section, faculty, room and every roster student's overrides are checked in one index probe
+        List<String> studentIds = sectionRosterCache.getStudentIds(sectionId);
+        String conflict = scheduleConflictIndex.findConflict(
+            ScheduleConflictIndex.Candidate.ofSection(sectionId, studentIds, scheduleDetails));
+        if (conflict != null) {
+            throw new RuntimeException("Overlapping schedule detected for section " + sectionId + ": " + conflict);
         }
-        scheduleItemRepository.saveAll(items);
-        return items.size();
-    }
-
-    // Helper to check if two time ranges overlap (format: "HH:mm")
-    private boolean timesOverlap(String start1, String end1, String start2, String end2) {
-        if (start1 == null || end1 == null || start2 == null || end2 == null) return false;
-        int s1 = toMinutes(start1);
-        int e1 = toMinutes(end1);
-        int s2 = toMinutes(start2);
-        int e2 = toMinutes(end2);
-        return s1 < e2 && s2 < e1;
-    }
-    private int toMinutes(String time) {
-        String[] parts = time.split(":");
-        return Integer.parseInt(parts[0]) * 60 + Integer.parseInt(parts[1]);
-    }
-
-    // Get all schedules for a section
+        saveSectionScheduleItem(sectionId, scheduleDetails);
+        return studentIds.size();
+    }
+
+    private void saveSectionScheduleItem(String sectionId, ScheduleItem scheduleDetails) {
+        SectionScheduleItem item = new SectionScheduleItem();
+        item.setSectionId(sectionId);
+        copyScheduleDetails(scheduleDetails, item);
+        scheduleConflictIndex.indexSectionSchedule(sectionScheduleItemRepository.save(item));
+    }
+
+    private void copyScheduleDetails(ScheduleItem source, SectionScheduleItem target) {
+        target.setSubjectCode(source.getSubjectCode());
+        target.setDescription(source.getDescription());
+        target.setUnits(source.getUnits());
+        target.setLec(source.getLec());
+        target.setLab(source.getLab());
+        target.setDayTime(source.getDayTime());
+        target.setDay(source.getDay());
+        target.setStartTime(source.getStartTime());
+        target.setEndTime(source.getEndTime());
+        target.setRoom(source.getRoom());
+        target.setFaculty(source.getFaculty());
+        target.setAcademicYear(source.getAcademicYear());
+        target.setSemester(source.getSemester());
+    }
+
+    // View of a section timetable entry in the per-student shape the frontend consumes
+    static ScheduleItem toScheduleItem(SectionScheduleItem source, String studentId) {
+        ScheduleItem item = new ScheduleItem();
+        item.setId(source.getId());
+        item.setStudentId(studentId);
+        item.setSectionId(source.getSectionId());
+        item.setSubjectCode(source.getSubjectCode());
+        item.setDescription(source.getDescription());
+        item.setUnits(source.getUnits());
+        item.setLec(source.getLec());
+        item.setLab(source.getLab());
+        item.setDayTime(source.getDayTime());
+        item.setDay(source.getDay());
+        item.setStartTime(source.getStartTime());
+        item.setEndTime(source.getEndTime());
+        item.setRoom(source.getRoom());
+        item.setFaculty(source.getFaculty());
+        item.setAcademicYear(source.getAcademicYear());
+        item.setSemester(source.getSemester());
+        return item;
+    }
+
+    // Get all schedules for a section: the shared timetable plus its students' overrides
     public List<ScheduleItem> getSchedulesForSection(String sectionId) {
-        // Find all students in the section and get their schedules
-        List<User> students = getAllUsers().stream()
-            .filter(u -> "student".equalsIgnoreCase(u.getRole()) && sectionId.equalsIgnoreCase(u.getSection()))
+        List<ScheduleItem> schedules = new ArrayList<>();
+        sectionScheduleItemRepository.findBySectionKey(KeyNormalizer.normalize(sectionId))
+            .forEach(item -> schedules.add(toScheduleItem(item, null)));
+        List<String> studentKeys = sectionRosterCache.getStudentIds(sectionId).stream()
+            .map(KeyNormalizer::normalize)
             .toList();
-        List<ScheduleItem> allSchedules = new ArrayList<>();
-        for (User student : students) {
-            List<ScheduleItem> schedules = getStudentSchedules(student.getId(), null, null);
-            allSchedules.addAll(schedules);
+        if (!studentKeys.isEmpty()) {
+            schedules.addAll(scheduleItemRepository.findByStudentKeyIn(studentKeys));
         }
-        return allSchedules;
+        return schedules;
     }
 
+    @Transactional
     public int addBulkScheduleItemsByCourse(String courseCode, ScheduleItem scheduleDetails) {
         List<Section> sections = getSectionsByCourseCode(courseCode);
+        // Every section gets the same class (same faculty and room by design), so each section is
+        // checked against the stored timetable only, not against the other sections in this push
+        Map<String, List<String>> rosters = new LinkedHashMap<>();
+        sections.forEach(section -> rosters.put(section.getId(), sectionRosterCache.getStudentIds(section.getId())));
+        List<String> conflicts = new ArrayList<>();
+        rosters.forEach((sectionId, studentIds) -> {
+            String conflict = scheduleConflictIndex.findConflict(
+                ScheduleConflictIndex.Candidate.ofSection(sectionId, studentIds, scheduleDetails));
+            if (conflict != null) {
+                conflicts.add("Section " + sectionId + ": " + conflict);
+            }
+        });
+        if (!conflicts.isEmpty()) {
+            throw new RuntimeException("Overlapping schedule detected for course " + courseCode + ": " + String.join("; ", conflicts));
+        }
         int totalAssigned = 0;
-        for (Section section : sections) {
-            totalAssigned += addBulkScheduleItemsBySection(section.getId(), scheduleDetails);
+        for (Map.Entry<String, List<String>> roster : rosters.entrySet()) {
+            saveSectionScheduleItem(roster.getKey(), scheduleDetails);
+            totalAssigned += roster.getValue().size();
         }
         return totalAssigned;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,226 @@
+package com.oasis.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.oasis.model.BulkEnrollmentProcessRequest;
+import com.oasis.model.BulkEnrollmentProcessResult;
+import com.oasis.model.BulkEnrollmentProcessResult.RowResult;
+import com.oasis.model.EnrollmentRequest;
+import com.oasis.model.KeyNormalizer;
+import com.oasis.model.User;
+import com.oasis.repository.EnrollmentRequestRepository;
+import com.oasis.repository.UserRepository;
+
+/**
+ * Approves or rejects many enrollment requests in one transaction, with the same effects as
+ * AuthService.processEnrollmentRequest. Requests and users are loaded with one IN query each and
+ * changed in memory (flushed as Hibernate batches); enrollments and accounts are JDBC batch
+ * upserts; messages and push events go to the outbox as batches.
+ * Only requests still in the expected status (pending by default) are processed, so a retried
+ * call does not approve anything twice. Approvals into a section past its capacity are skipped
+ * and stay pending.
+ */
+@Service
+public class BulkEnrollmentService {
+
+    static final String DEFAULT_CURRENT_STATUS = "pending";
+
+    // Same tuition as single approval
+    private static final double TUITION_FEE = 18000.00;
+
+    private static final String UPSERT_ENROLLMENT =
+        "INSERT INTO student_enrollments (student_id, course, section_id, semester, academic_year, status)" +
+        " VALUES (?, ?, ?, ?, ?, 'enrolled')" +
+        " ON DUPLICATE KEY UPDATE course = VALUES(course), section_id = VALUES(section_id)," +
+        " semester = VALUES(semester), academic_year = VALUES(academic_year), status = VALUES(status)";
+
+    private static final String UPSERT_ACCOUNT =
+        "INSERT INTO student_accounts (student_id, total_balance, remaining_balance, academic_year, semester)" +
+        " VALUES (?, ?, ?, ?, ?)" +
+        " ON DUPLICATE KEY UPDATE total_balance = VALUES(total_balance), remaining_balance = VALUES(remaining_balance)," +
+        " academic_year = VALUES(academic_year), semester = VALUES(semester)";
+
+    @Autowired
+    private EnrollmentRequestRepository enrollmentRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private SectionRosterCache sectionRosterCache;
+
+    @Transactional
+    public BulkEnrollmentProcessResult process(BulkEnrollmentProcessRequest request) {
+        String status = request.getStatus() != null ? request.getStatus().trim().toLowerCase(Locale.ROOT) : "";
+        if (!"approved".equals(status) && !"rejected".equals(status)) {
+            throw new IllegalArgumentException("Status must be approved or rejected");
+        }
+        String currentStatus = blankToNull(request.getCurrentStatus()) != null ? request.getCurrentStatus().trim() : DEFAULT_CURRENT_STATUS;
+        String remarks = request.getRemarks();
+        List<Long> requestIds = request.getRequestIds() != null ? request.getRequestIds() : List.of();
+        if (requestIds.isEmpty() && blankToNull(request.getCourse()) == null
+                && blankToNull(request.getAcademicYear()) == null && blankToNull(request.getSemester()) == null) {
+            throw new IllegalArgumentException("Pass requestIds or at least one of course, academicYear, semester");
+        }
+
+        BulkEnrollmentProcessResult result = new BulkEnrollmentProcessResult();
+        List<EnrollmentRequest> selected = new ArrayList<>();
+        if (!requestIds.isEmpty()) {
+            Map<Long, EnrollmentRequest> byId = new HashMap<>();
+            enrollmentRequestRepository.findAllById(new LinkedHashSet<>(requestIds)).forEach(r -> byId.put(r.getId(), r));
+            for (Long id : new LinkedHashSet<>(requestIds)) {
+                EnrollmentRequest found = byId.get(id);
+                if (found == null) {
+                    result.addRow(id, null, RowResult.NOT_FOUND, "Enrollment request not found");
+                } else if (!currentStatus.equalsIgnoreCase(found.getStatus())) {
+                    result.addRow(id, found.getStudentId(), RowResult.SKIPPED, "Request is already " + found.getStatus());
+                } else {
+                    selected.add(found);
+                }
+            }
+        } else {
+            selected.addAll(enrollmentRequestRepository.findForProcessing(currentStatus, blankToNull(request.getCourse()),
+                blankToNull(request.getAcademicYear()), blankToNull(request.getSemester())));
+        }
+        if (selected.isEmpty()) {
+            return result;
+        }
+
+        // A student with several selected requests is processed once (first listed, or lowest id for a filter); the rest are reported
+        Map<String, EnrollmentRequest> byStudent = new HashMap<>();
+        List<EnrollmentRequest> toProcess = new ArrayList<>();
+        for (EnrollmentRequest r : selected) {
+            String studentKey = KeyNormalizer.normalize(r.getStudentId());
+            EnrollmentRequest first = byStudent.putIfAbsent(studentKey, r);
+            if (first != null) {
+                result.addRow(r.getId(), r.getStudentId(), RowResult.SKIPPED,
+                    "Another request for this student (" + first.getId() + ") is in the same batch");
+            } else {
+                toProcess.add(r);
+            }
+        }
+
+        boolean approve = "approved".equals(status);
+        List<OutboxService.MessageDraft> messages = new ArrayList<>();
+        Set<String> studentIds = new LinkedHashSet<>();
+        int processed = 0;
+        if (approve) {
+            Map<String, User> users = new HashMap<>();
+            userRepository.findByIdKeyIn(byStudent.keySet()).forEach(u -> users.put(KeyNormalizer.normalize(u.getId()), u));
+            Map<EnrollmentRequest, String> noSeat = reserveSeats(toProcess, users);
+            Map<String, Integer> vacated = new HashMap<>();
+            List<Object[]> enrollments = new ArrayList<>();
+            List<Object[]> accounts = new ArrayList<>();
+            for (EnrollmentRequest r : toProcess) {
+                if (noSeat.containsKey(r)) {
+                    result.addRow(r.getId(), r.getStudentId(), RowResult.SKIPPED, noSeat.get(r));
+                    continue;
+                }
+                r.setStatus(status);
+                r.setRemarks(remarks);
+                processed++;
+                User user = users.get(KeyNormalizer.normalize(r.getStudentId()));
+                if (user != null) {
+                    if (needsSeat(r, user)) {
+                        String prevSection = user.getSection();
+                        if (prevSection != null && !prevSection.isEmpty()) {
+                            vacated.merge(prevSection, 1, Integer::sum);
+                        }
+                        user.setSection(r.getSectionId());
+                        sectionRosterCache.moveStudent(user.getId(), prevSection, r.getSectionId());
+                    }
+                    user.setStatus("Enrolled");
+                    user.setCourse(r.getCourse());
+                    user.setAdmissionStatus("Enrolled - New");
+                    user.setScholasticStatus("Regular");
+                }
+                enrollments.add(new Object[] {r.getStudentId(), r.getCourse(), r.getSectionId(), r.getSemester(), r.getAcademicYear()});
+                accounts.add(new Object[] {r.getStudentId(), TUITION_FEE, TUITION_FEE, r.getAcademicYear(), r.getSemester()});
+                messages.add(new OutboxService.MessageDraft(r.getStudentId(), "Enrollment Approved!",
+                    "Congratulations! Your enrollment for " + r.getCourse() + " has been approved."));
+                studentIds.add(r.getStudentId());
+                result.addRow(r.getId(), r.getStudentId(), RowResult.APPROVED, user == null ? "Student user not found; request approved" : null);
+            }
+            vacated.forEach(seatReservationService::release);
+            jdbcTemplate.batchUpdate(UPSERT_ENROLLMENT, enrollments);
+            jdbcTemplate.batchUpdate(UPSERT_ACCOUNT, accounts);
+        } else {
+            for (EnrollmentRequest r : toProcess) {
+                r.setStatus(status);
+                r.setRemarks(remarks);
+                processed++;
+                messages.add(new OutboxService.MessageDraft(r.getStudentId(), "Enrollment Rejected",
+                    "Your enrollment request for " + r.getCourse() + " was rejected. Reason: " + remarks));
+                studentIds.add(r.getStudentId());
+                result.addRow(r.getId(), r.getStudentId(), RowResult.REJECTED, null);
+            }
+        }
+        outboxService.sendMessages(messages);
+        outboxService.notifyStudents(studentIds, NotificationHub.ENROLLMENT);
+        outboxService.notifyAdmins(NotificationHub.ENROLLMENT);
+        System.out.println("Bulk " + status + " " + processed + " enrollment requests (" + result.getSkipped() + " skipped)");
+        return result;
+    }
+
+    /**
+     * Takes seats for every approval that moves a student into a section, one reservation per
+     * section. Requests past a section's remaining seats are returned with the reason they were left out.
+     */
+    private Map<EnrollmentRequest, String> reserveSeats(List<EnrollmentRequest> requests, Map<String, User> users) {
+        Map<String, List<EnrollmentRequest>> bySection = new LinkedHashMap<>();
+        for (EnrollmentRequest r : requests) {
+            User user = users.get(KeyNormalizer.normalize(r.getStudentId()));
+            if (user != null && needsSeat(r, user)) {
+                bySection.computeIfAbsent(KeyNormalizer.normalize(r.getSectionId()), key -> new ArrayList<>()).add(r);
+            }
+        }
+        Map<EnrollmentRequest, String> noSeat = new HashMap<>();
+        bySection.values().forEach(waiting -> {
+            String sectionId = waiting.get(0).getSectionId();
+            int granted;
+            String reason;
+            try {
+                granted = seatReservationService.reserve(sectionId, waiting.size());
+                reason = "Section " + sectionId + " is full";
+            } catch (IllegalArgumentException e) {
+                granted = 0;
+                reason = e.getMessage();
+            }
+            for (EnrollmentRequest r : waiting.subList(granted, waiting.size())) {
+                noSeat.put(r, reason);
+            }
+        });
+        return noSeat;
+    }
+
+    // Approval names a section the student is not already in
+    private static boolean needsSeat(EnrollmentRequest request, User user) {
+        String target = blankToNull(request.getSectionId());
+        return target != null && !KeyNormalizer.normalize(target).equals(KeyNormalizer.normalize(user.getSection()));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
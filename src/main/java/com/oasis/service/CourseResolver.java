@@ -0,0 +1,37 @@
+package com.oasis.service;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.oasis.model.Course;
+
+/**
+ * Normalizes a user-entered course value (code or full name, any case) to its course code.
+ * Lookups go through the case-insensitive code and name indexes on the cached course snapshot,
+ * so they are rebuilt whenever course CRUD invalidates the catalog.
+ */
+@Component
+public class CourseResolver {
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    public Optional<Course> resolve(String courseOrName) {
+        if (courseOrName == null || courseOrName.isBlank()) {
+            return Optional.empty();
+        }
+        Optional<Course> byCode = referenceDataCache.findCourse(courseOrName);
+        return byCode.isPresent() ? byCode : referenceDataCache.findCourseByName(courseOrName);
+    }
+
+    public boolean isCode(String value) {
+        return value != null && referenceDataCache.findCourse(value).isPresent();
+    }
+
+    // The matching course code, or the input unchanged when it names no known course
+    public String toCode(String courseOrName) {
+        return resolve(courseOrName).map(Course::getCode).orElse(courseOrName);
+    }
+}
@@ -4,9 +4,11 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 import com.oasis.model.Course;
@@ -41,6 +43,9 @@ import com.oasis.repository.UserRepository;
 @Component
 public class DataInitializationService implements CommandLineRunner {
 
+    // Must match the allocationSize of the @TableGenerator mappings
+    private static final int ID_ALLOCATION_SIZE = 50;
+
     @Autowired
     private UserRepository userRepository;
     
@@ -86,17 +91,72 @@ public class DataInitializationService implements CommandLineRunner {
     @Autowired
     private CurriculumRepository curriculumRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GpaAggregateService gpaAggregateService;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private InboxService inboxService;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private PaymentLedgerService paymentLedgerService;
+
     @Override
     public void run(String... args) throws Exception {
+        // Move pooled id generators past ids handed out by the old IDENTITY columns
+        alignIdGenerators();
         // Only initialize if no data exists
         if (userRepository.count() == 0) {
             initializeData();
+            referenceDataCache.invalidateAll();
         }
+        // Fill canonical-case key columns on rows written before they existed
+        backfillNormalizedKeys();
+        // Section timetables stored as one copy per student move into section_schedule_items once
+        authService.migrateSectionScheduleCopies();
+        // Recompute GPA aggregates so grades written before (or outside) the service stay consistent
+        gpaAggregateService.rebuild();
+        // Same for the inbox unread counters
+        inboxService.rebuildUnreadCounts();
         // Always ensure every course has at least one subject
         authService.ensureSubjectsForAllCourses();
         // Always ensure at least one section and one faculty exist
         authService.ensureSectionExists();
         authService.ensureFacultyExists();
+        // Section seat counts were never maintained before seat reservations; recount from the rosters
+        seatReservationService.rebuild();
+        // Payments written to the old student_payments collection move into the ledger once
+        paymentLedgerService.importLegacyPayments();
+    }
+
+    private void alignIdGenerators() {
+        // schedule_items is shared with section_schedule_items, and messages with announcements, so their ids never collide
+        Map<String, String> maxIdQueries = Map.of(
+            "schedule_items", "SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM schedule_items), (SELECT COALESCE(MAX(id), 0) FROM section_schedule_items))",
+            "student_grades", "SELECT COALESCE(MAX(id), 0) FROM student_grades",
+            "messages", "SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM messages), (SELECT COALESCE(MAX(id), 0) FROM announcements))");
+        maxIdQueries.forEach((generator, maxIdQuery) -> {
+            Long maxId = jdbcTemplate.queryForObject(maxIdQuery, Long.class);
+            jdbcTemplate.update(
+                "INSERT INTO id_generators (gen_name, next_val) VALUES (?, ?)" +
+                " ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))",
+                generator, maxId + ID_ALLOCATION_SIZE + 1);
+        });
+    }
+
+    private void backfillNormalizedKeys() {
+        jdbcTemplate.update("UPDATE users SET id_key = UPPER(TRIM(id)) WHERE id_key IS NULL");
+        for (String table : List.of("schedule_items", "student_grades", "messages", "student_forms", "enrollment_requests")) {
+            jdbcTemplate.update("UPDATE " + table + " SET student_key = UPPER(TRIM(student_id)) WHERE student_key IS NULL");
+        }
     }
 
     private void initializeData() {
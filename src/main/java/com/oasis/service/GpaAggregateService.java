@@ -0,0 +1,197 @@
+package com.oasis.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.oasis.model.KeyNormalizer;
+import com.oasis.model.StudentGrade;
+import com.oasis.model.StudentTermGpa;
+import com.oasis.repository.StudentTermGpaRepository;
+
+/**
+ * Maintains per-student, per-term GPA totals (grade points, units, graded count) so term and
+ * cumulative GPA are read from a row or two instead of re-summing every grade.
+ * Grade writers take a {@link Contribution} of the row before changing it and pass it to
+ * {@link #apply}; {@link #rebuild} recomputes everything from student_grades.
+ */
+@Service
+public class GpaAggregateService {
+
+    // Single atomic upsert, so concurrent encoders of the same student/term do not lose updates
+    private static final String UPSERT_DELTA =
+        "INSERT INTO student_term_gpa (student_key, academic_year, semester, total_grade_points, total_units, graded_count)" +
+        " VALUES (?, ?, ?, ?, ?, ?)" +
+        " ON DUPLICATE KEY UPDATE total_grade_points = total_grade_points + VALUES(total_grade_points)," +
+        " total_units = total_units + VALUES(total_units), graded_count = graded_count + VALUES(graded_count)";
+
+    @Autowired
+    private StudentTermGpaRepository studentTermGpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * What one grade row adds to its term totals.
+     */
+    public static final class Contribution {
+        static final Contribution NONE = new Contribution(null, null, null, 0.0, 0, 0);
+
+        private final String studentKey;
+        private final String academicYear;
+        private final String semester;
+        private final double gradePoints;
+        private final int units;
+        private final int count;
+
+        private Contribution(String studentKey, String academicYear, String semester, double gradePoints, int units, int count) {
+            this.studentKey = studentKey;
+            this.academicYear = academicYear;
+            this.semester = semester;
+            this.gradePoints = gradePoints;
+            this.units = units;
+            this.count = count;
+        }
+
+        public static Contribution of(StudentGrade grade) {
+            return of(KeyNormalizer.normalize(grade.getStudentId()), grade.getAcademicYear(), grade.getSemester(),
+                grade.getUnits(), grade.getNumericGrade(), grade.getGpa());
+        }
+
+        private static Contribution of(String studentKey, String academicYear, String semester,
+                                       Integer units, Double numericGrade, Double gpa) {
+            if (studentKey == null || academicYear == null || semester == null || units == null || numericGrade == null) {
+                return NONE;
+            }
+            double points = gpa != null ? gpa : units * numericGrade;
+            return new Contribution(studentKey, academicYear.trim(), semester.trim(), points, units, 1);
+        }
+
+        private boolean sameTerm(Contribution other) {
+            return studentKey != null && studentKey.equals(other.studentKey)
+                && academicYear.equalsIgnoreCase(other.academicYear)
+                && semester.equalsIgnoreCase(other.semester);
+        }
+    }
+
+    /**
+     * Contribution of a stored grade as it is in the database, read past the persistence context
+     * so callers holding an already-modified managed entity still get the old values. The row is
+     * locked until the caller's transaction ends, so two concurrent edits of the same grade cannot
+     * both compute their delta from the same old values.
+     */
+    public Contribution stored(Long gradeId) {
+        if (gradeId == null) {
+            return Contribution.NONE;
+        }
+        List<Contribution> rows = jdbcTemplate.query(
+            "SELECT student_id, academic_year, semester, units, numeric_grade, gpa FROM student_grades WHERE id = ? FOR UPDATE",
+            (rs, rowNum) -> Contribution.of(KeyNormalizer.normalize(rs.getString("student_id")),
+                rs.getString("academic_year"), rs.getString("semester"),
+                rs.getObject("units", Integer.class), rs.getObject("numeric_grade", Double.class),
+                rs.getObject("gpa", Double.class)),
+            gradeId);
+        return rows.isEmpty() ? Contribution.NONE : rows.get(0);
+    }
+
+    // Moves the totals from a grade's previous contribution to its new state
+    public void apply(Contribution before, StudentGrade after) {
+        Contribution now = Contribution.of(after);
+        if (before.sameTerm(now)) {
+            addDelta(now, now.gradePoints - before.gradePoints, now.units - before.units, now.count - before.count);
+        } else {
+            removed(before);
+            addDelta(now, now.gradePoints, now.units, now.count);
+        }
+    }
+
+    // Same as apply for many rows: deltas are merged per student/term and written as one JDBC batch
+    public void applyAll(List<Contribution> before, List<StudentGrade> after) {
+        Map<String, Object[]> deltas = new LinkedHashMap<>();
+        for (int i = 0; i < after.size(); i++) {
+            Contribution old = before.get(i);
+            Contribution now = Contribution.of(after.get(i));
+            mergeDelta(deltas, old, -old.gradePoints, -old.units, -old.count);
+            mergeDelta(deltas, now, now.gradePoints, now.units, now.count);
+        }
+        List<Object[]> batch = new ArrayList<>();
+        for (Object[] delta : deltas.values()) {
+            if ((double) delta[3] != 0.0 || (int) delta[4] != 0 || (int) delta[5] != 0) {
+                batch.add(delta);
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_DELTA, batch);
+        }
+    }
+
+    private void mergeDelta(Map<String, Object[]> deltas, Contribution key, double gradePoints, int units, int count) {
+        if (key.studentKey == null) {
+            return;
+        }
+        Object[] delta = deltas.computeIfAbsent(
+            key.studentKey + "|" + key.academicYear.toUpperCase(Locale.ROOT) + "|" + key.semester.toUpperCase(Locale.ROOT),
+            k -> new Object[] {key.studentKey, key.academicYear, key.semester, 0.0, 0, 0});
+        delta[3] = (double) delta[3] + gradePoints;
+        delta[4] = (int) delta[4] + units;
+        delta[5] = (int) delta[5] + count;
+    }
+
+    public void removed(Contribution before) {
+        addDelta(before, -before.gradePoints, -before.units, -before.count);
+    }
+
+    public void deleteForStudent(String studentId) {
+        studentTermGpaRepository.deleteByStudentKey(KeyNormalizer.normalize(studentId));
+    }
+
+    private void addDelta(Contribution key, double gradePoints, int units, int count) {
+        if (key.studentKey == null || (gradePoints == 0.0 && units == 0 && count == 0)) {
+            return;
+        }
+        jdbcTemplate.update(UPSERT_DELTA, key.studentKey, key.academicYear, key.semester, gradePoints, units, count);
+    }
+
+    public Double termGpa(String studentId, String semester, String academicYear) {
+        return studentTermGpaRepository
+            .findByStudentKeyAndAcademicYearAndSemester(KeyNormalizer.normalize(studentId), academicYear, semester)
+            .filter(term -> term.getTotalUnits() > 0)
+            .map(term -> term.getTotalGradePoints() / term.getTotalUnits())
+            .orElse(null);
+    }
+
+    public Double cumulativeGpa(String studentId) {
+        double totalGradePoints = 0.0;
+        int totalUnits = 0;
+        for (StudentTermGpa term : studentTermGpaRepository.findByStudentKey(KeyNormalizer.normalize(studentId))) {
+            totalGradePoints += term.getTotalGradePoints();
+            totalUnits += term.getTotalUnits();
+        }
+        return totalUnits > 0 ? totalGradePoints / totalUnits : null;
+    }
+
+    /**
+     * Consistency rebuild: recomputes every aggregate from the raw grades in two statements.
+     * Returns the number of student/term rows written.
+     */
+    @Transactional
+    public int rebuild() {
+        jdbcTemplate.update("DELETE FROM student_term_gpa");
+        int rows = jdbcTemplate.update(
+            "INSERT INTO student_term_gpa (student_key, academic_year, semester, total_grade_points, total_units, graded_count)" +
+            " SELECT UPPER(TRIM(student_id)), MIN(TRIM(academic_year)), MIN(TRIM(semester))," +
+            " SUM(COALESCE(gpa, units * numeric_grade)), SUM(units), COUNT(*)" +
+            " FROM student_grades WHERE numeric_grade IS NOT NULL AND units IS NOT NULL" +
+            " AND academic_year IS NOT NULL AND semester IS NOT NULL" +
+            " GROUP BY UPPER(TRIM(student_id)), TRIM(academic_year), TRIM(semester)");
+        System.out.println("Rebuilt " + rows + " student term GPA aggregates");
+        return rows;
+    }
+}
@@ -1,17 +1,22 @@
 package com.oasis.service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.oasis.model.BatchGradeEncodeRequest;
+import com.oasis.model.BatchGradeEncodeResult;
+import com.oasis.model.KeyNormalizer;
 import com.oasis.model.StudentGrade;
 import com.oasis.repository.StudentGradeRepository;
-import com.oasis.repository.SubjectRepository;
 
 @Service
 public class GradeService {
@@ -20,7 +25,13 @@ public class GradeService {
     private StudentGradeRepository studentGradeRepository;
     
     @Autowired
-    private SubjectRepository subjectRepository;
+    private ReferenceDataCache referenceDataCache;
+    
+    @Autowired
+    private GpaAggregateService gpaAggregateService;
+
+    @Autowired
+    private NotificationHub notificationHub;
     
     // Grade conversion map (letter grade to numeric grade)
     private static final Map<String, Double> GRADE_CONVERSION = new HashMap<>();
@@ -138,7 +149,10 @@ public class GradeService {
             grade.setIsReleased(false);
         }
         
-        return studentGradeRepository.save(grade);
+        GpaAggregateService.Contribution before = gpaAggregateService.stored(grade.getId());
+        StudentGrade saved = studentGradeRepository.save(grade);
+        gpaAggregateService.apply(before, saved);
+        return saved;
     }
     
     /**
@@ -150,6 +164,7 @@ public class GradeService {
             .orElseThrow(() -> new RuntimeException("Grade not found"));
         
         grade.setIsReleased(true);
+        notificationHub.toStudent(grade.getStudentId(), NotificationHub.GRADES);
         return studentGradeRepository.save(grade);
     }
     
@@ -161,6 +176,7 @@ public class GradeService {
         StudentGrade grade = studentGradeRepository.findById(gradeId)
             .orElseThrow(() -> new RuntimeException("Grade not found"));
         grade.setIsReleased(false);
+        notificationHub.toStudent(grade.getStudentId(), NotificationHub.GRADES);
         return studentGradeRepository.save(grade);
     }
     
@@ -168,7 +184,7 @@ public class GradeService {
      * Get grades for a student (admin view - shows all grades)
      */
     public List<StudentGrade> getGradesForStudent(String studentId, String semester, String academicYear) {
-        return studentGradeRepository.findByStudentIdIgnoreCaseAndSemesterIgnoreCaseAndAcademicYearIgnoreCase(studentId, semester, academicYear);
+        return studentGradeRepository.findByStudentKeyAndSemesterIgnoreCaseAndAcademicYearIgnoreCase(KeyNormalizer.normalize(studentId), semester, academicYear);
     }
     
     /**
@@ -195,120 +211,118 @@ public class GradeService {
      * Calculate overall GPA for a student in a specific term
      */
     public Double calculateTermGPA(String studentId, String semester, String academicYear) {
-        List<StudentGrade> grades = studentGradeRepository.findGradesWithGPAForTerm(studentId, academicYear, semester);
-        if (grades == null || grades.isEmpty()) {
-            return null;
-        }
-        double totalGradePoints = 0.0;
-        int totalUnits = 0;
-        for (StudentGrade grade : grades) {
-            if (grade.getNumericGrade() != null && grade.getUnits() != null) {
-                totalGradePoints += grade.getGpa();
-                totalUnits += grade.getUnits();
-            }
-        }
-        if (totalUnits == 0) {
-            return null;
-        }
-        return totalGradePoints / totalUnits;
+        return gpaAggregateService.termGpa(studentId, semester, academicYear);
     }
     
     /**
      * Calculate cumulative GPA for a student across all terms
      */
     public Double calculateCumulativeGPA(String studentId) {
-        List<StudentGrade> allGrades = studentGradeRepository.findByStudentId(studentId);
-        if (allGrades == null || allGrades.isEmpty()) {
-            return null;
-        }
-        double totalGradePoints = 0.0;
-        int totalUnits = 0;
-        for (StudentGrade grade : allGrades) {
-            if (grade.getNumericGrade() != null && grade.getUnits() != null) {
-                totalGradePoints += grade.getGpa();
-                totalUnits += grade.getUnits();
-            }
-        }
-        if (totalUnits == 0) {
-            return null;
-        }
-        return totalGradePoints / totalUnits;
+        return gpaAggregateService.cumulativeGpa(studentId);
+    }
+    
+    /**
+     * Recompute all GPA aggregates from the raw grades (consistency repair)
+     */
+    public int rebuildGpaAggregates() {
+        return gpaAggregateService.rebuild();
     }
     
     /**
-     * Batch encode grades for a section/subject/term
+     * Batch encode grades for a section/subject/term.
+     * Existing grades for the batch are loaded in one query and merged in memory; inserts and
+     * updates go out as JDBC batches in one flush. Invalid rows are reported and skipped.
      */
     @Transactional
-    public int batchEncodeGrades(String sectionId, String subjectCode, String academicYear, String semester, List<Map<String, Object>> grades) {
-        int count = 0;
+    public BatchGradeEncodeResult batchEncodeGrades(BatchGradeEncodeRequest request) {
+        String subjectCode = request.getSubjectCode();
+        String academicYear = request.getAcademicYear();
+        String semester = request.getSemester();
+        if (subjectCode == null || subjectCode.trim().isEmpty()) {
+            throw new IllegalArgumentException("Subject code is required");
+        }
+        if (academicYear == null || academicYear.trim().isEmpty() || semester == null || semester.trim().isEmpty()) {
+            throw new IllegalArgumentException("Academic year and semester are required");
+        }
+        List<BatchGradeEncodeRequest.GradeEntry> entries = request.getGrades() != null ? request.getGrades() : List.of();
         // Look up subject name once for this batch
-        String subjectName = subjectRepository.findByCodeIgnoreCase(subjectCode)
+        String subjectName = referenceDataCache.findSubject(subjectCode)
             .map(s -> s.getName())
             .orElse("Unknown Subject");
-        for (Map<String, Object> g : grades) {
-            String studentId = (String) g.get("studentId");
-            Object numericGradeObj = g.get("numericGrade");
-            String remarks = (String) g.get("remarks");
-            Double numericGrade = null;
-            if (numericGradeObj != null) {
-                if (numericGradeObj instanceof Number) {
-                    numericGrade = ((Number) numericGradeObj).doubleValue();
-                } else if (numericGradeObj instanceof String) {
-                    try {
-                        numericGrade = Double.parseDouble((String) numericGradeObj);
-                    } catch (NumberFormatException e) {
-                        continue;
-                    }
-                }
+        Set<String> studentKeys = new HashSet<>();
+        for (BatchGradeEncodeRequest.GradeEntry entry : entries) {
+            if (entry.getStudentId() != null) {
+                studentKeys.add(KeyNormalizer.normalize(entry.getStudentId()));
+            }
+        }
+        Map<String, StudentGrade> existing = new HashMap<>();
+        if (!studentKeys.isEmpty()) {
+            for (StudentGrade grade : studentGradeRepository.findBySubjectCodeAndAcademicYearAndSemesterAndStudentKeyIn(
+                    subjectCode, academicYear, semester, studentKeys)) {
+                existing.putIfAbsent(KeyNormalizer.normalize(grade.getStudentId()), grade);
+            }
+        }
+
+        BatchGradeEncodeResult result = new BatchGradeEncodeResult();
+        Map<String, StudentGrade> toSave = new LinkedHashMap<>();
+        Map<String, GpaAggregateService.Contribution> before = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            BatchGradeEncodeRequest.GradeEntry entry = entries.get(i);
+            String studentId = entry.getStudentId();
+            Double numericGrade = entry.getNumericGrade();
+            if (studentId == null || studentId.trim().isEmpty()) {
+                result.addRow(i, studentId, BatchGradeEncodeResult.RowResult.REJECTED, "Student ID is required");
+                continue;
+            }
+            if (numericGrade != null && !isValidGrade(String.valueOf(numericGrade))) {
+                result.addRow(i, studentId, BatchGradeEncodeResult.RowResult.REJECTED, "Invalid numeric grade: " + numericGrade);
+                continue;
+            }
+            if (entry.getUnits() != null && entry.getUnits() < 0) {
+                result.addRow(i, studentId, BatchGradeEncodeResult.RowResult.REJECTED, "Units cannot be negative");
+                continue;
+            }
+            String studentKey = KeyNormalizer.normalize(studentId);
+            StudentGrade grade = toSave.get(studentKey);
+            if (grade == null) {
+                grade = existing.get(studentKey);
+            }
+            boolean isNew = grade == null;
+            if (isNew) {
+                grade = new StudentGrade();
+                grade.setStudentId(studentId);
+                grade.setSubjectCode(subjectCode);
+                grade.setAcademicYear(academicYear);
+                grade.setSemester(semester);
+                grade.setIsReleased(false);
+            }
+            before.putIfAbsent(studentKey, GpaAggregateService.Contribution.of(grade));
+            // Always update subjectName from repository
+            grade.setSubjectName(subjectName);
+            if (entry.getUnits() != null) {
+                grade.setUnits(entry.getUnits());
             }
-            Optional<StudentGrade> gradeOpt = studentGradeRepository.findByStudentIdAndSubjectCodeAndAcademicYearAndSemester(studentId, subjectCode, academicYear, semester);
-            StudentGrade grade = gradeOpt.orElseGet(() -> {
-                StudentGrade ng = new StudentGrade();
-                ng.setStudentId(studentId);
-                ng.setSubjectCode(subjectCode);
-                ng.setAcademicYear(academicYear);
-                ng.setSemester(semester);
-                ng.setIsReleased(false);
-                // Always set subjectName from repository
-                ng.setSubjectName(subjectName);
-                Object unitsObj = g.get("units");
-                if (unitsObj instanceof Number) {
-                    ng.setUnits(((Number) unitsObj).intValue());
-                } else if (unitsObj instanceof String) {
-                    try {
-                        ng.setUnits(Integer.parseInt((String) unitsObj));
-                    } catch (NumberFormatException e) {
-                        ng.setUnits(null);
-                    }
-                }
-                return ng;
-            });
             if (numericGrade != null) {
                 grade.setNumericGrade(numericGrade);
                 grade.setGrade(convertNumericToLetter(numericGrade));
-                if (grade.getUnits() != null) {
-                    grade.setGpa(grade.getUnits() * numericGrade);
-                }
             }
-            if (remarks != null) {
-                grade.setRemarks(remarks);
+            if (grade.getNumericGrade() != null && grade.getUnits() != null) {
+                grade.setGpa(grade.getUnits() * grade.getNumericGrade());
             }
-            // Always update subjectName from repository
-            grade.setSubjectName(subjectName);
-            Object unitsObj = g.get("units");
-            if (unitsObj instanceof Number) {
-                grade.setUnits(((Number) unitsObj).intValue());
-            } else if (unitsObj instanceof String) {
-                try {
-                    grade.setUnits(Integer.parseInt((String) unitsObj));
-                } catch (NumberFormatException e) {
-                    grade.setUnits(null);
-                }
+            if (entry.getRemarks() != null) {
+                grade.setRemarks(entry.getRemarks());
             }
-            studentGradeRepository.save(grade);
-            count++;
+            toSave.put(studentKey, grade);
+            result.addRow(i, studentId, isNew ? BatchGradeEncodeResult.RowResult.INSERTED
+                : BatchGradeEncodeResult.RowResult.UPDATED, null);
         }
-        return count;
+
+        List<StudentGrade> grades = new ArrayList<>(toSave.values());
+        List<GpaAggregateService.Contribution> contributions = new ArrayList<>();
+        grades.forEach(grade -> contributions.add(before.get(KeyNormalizer.normalize(grade.getStudentId()))));
+        studentGradeRepository.saveAll(grades);
+        gpaAggregateService.applyAll(contributions, grades);
+        return result;
     }
 
     /**
@@ -323,6 +337,7 @@ public class GradeService {
             System.out.println("  - Releasing grade for studentId=" + grade.getStudentId() + ", subject=" + grade.getSubjectCode() + ", semester=" + grade.getSemester() + ", academicYear=" + grade.getAcademicYear());
         }
         studentGradeRepository.saveAll(grades);
+        notifyStudents(grades);
         return grades.size();
     }
     
@@ -336,6 +351,7 @@ public class GradeService {
             grade.setIsReleased(false);
         }
         studentGradeRepository.saveAll(grades);
+        notifyStudents(grades);
         return grades.size();
     }
     
@@ -373,4 +389,11 @@ public class GradeService {
         // We'll use a custom repository method for this
         return studentGradeRepository.findBySection(sectionId);
     }
-} 
\ No newline at end of file
+
+    // One "grades" event per affected student, sent once the release commits
+    private void notifyStudents(List<StudentGrade> grades) {
+        grades.stream().map(StudentGrade::getStudentId).filter(id -> id != null)
+            .map(KeyNormalizer::normalize).distinct()
+            .forEach(studentKey -> notificationHub.toStudent(studentKey, NotificationHub.GRADES));
+    }
+}
@@ -0,0 +1,116 @@
+package com.oasis.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Replay protection for write endpoints that clients retry (payments, bulk schedules, batch grades).
+ * A request carrying an Idempotency-Key runs once; the response it produced is kept for TTL_MILLIS
+ * and handed back to any retry with the same key instead of running the write again. The store is
+ * in memory, capped at MAX_ENTRIES (least recently used first out), and only successful (2xx)
+ * responses are kept, so a failed attempt can be retried with the same key.
+ * Keys are scoped per endpoint and tied to the request body: the same key with a different body is
+ * refused with 422, and a retry that arrives while the first attempt is still running gets 409.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final int MAX_ENTRIES = 10_000;
+    static final long TTL_MILLIS = 24 * 60 * 60 * 1000L;
+    static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    // response is null while the first attempt is still running
+    private record Entry(String fingerprint, long expiresAt, ResponseEntity<?> response) {}
+
+    /**
+     * Runs the write, or replays its stored response when the key was seen before.
+     * Without a key the write simply runs.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String key, String scope, Object request, Supplier<ResponseEntity<T>> write) {
+        if (key == null || key.isBlank()) {
+            return write.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            System.err.println("[WARN] Rejected " + HEADER + " longer than " + MAX_KEY_LENGTH + " characters on " + scope);
+            return ResponseEntity.badRequest().build();
+        }
+        String storeKey = scope + "|" + key.trim();
+        String fingerprint = fingerprint(request);
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry existing = entries.get(storeKey);
+            if (existing != null && existing.expiresAt() > now) {
+                if (!existing.fingerprint().equals(fingerprint)) {
+                    System.err.println("[WARN] " + HEADER + " " + key + " reused with a different request on " + scope);
+                    return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+                }
+                if (existing.response() == null) {
+                    return ResponseEntity.status(HttpStatus.CONFLICT).build();
+                }
+                ResponseEntity<T> stored = (ResponseEntity<T>) existing.response();
+                return ResponseEntity.status(stored.getStatusCode()).headers(stored.getHeaders())
+                    .header(REPLAYED_HEADER, "true").body(stored.getBody());
+            }
+            entries.put(storeKey, new Entry(fingerprint, now + TTL_MILLIS, null));
+        }
+
+        ResponseEntity<T> response = null;
+        try {
+            response = write.get();
+            return response;
+        } finally {
+            synchronized (entries) {
+                if (response != null && response.getStatusCode().is2xxSuccessful()) {
+                    entries.put(storeKey, new Entry(fingerprint, System.currentTimeMillis() + TTL_MILLIS, response));
+                } else {
+                    entries.remove(storeKey);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 10 * 60 * 1000L)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            entries.values().removeIf(entry -> entry.response() != null && entry.expiresAt() <= now);
+        }
+    }
+
+    // SHA-256 of the request as JSON, so the store keeps a short digest rather than the body
+    private String fingerprint(Object request) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+}
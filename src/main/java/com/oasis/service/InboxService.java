@@ -0,0 +1,249 @@
+package com.oasis.service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.oasis.model.Announcement;
+import com.oasis.model.KeyNormalizer;
+import com.oasis.model.KeysetPage;
+import com.oasis.model.Message;
+import com.oasis.repository.AnnouncementRepository;
+import com.oasis.repository.MessageRepository;
+
+/**
+ * Student inbox: keyset pages newest first and a per-student unread counter (student_unread_counts)
+ * that is adjusted when a message is sent or marked read, so the badge is a single-row read.
+ * Messages should be written through {@link #send} so the counter stays exact; {@link #rebuildUnreadCounts}
+ * recomputes it from the messages table.
+ * Announcements (one row per broadcast, reads kept sparsely) are merged into the same pages and
+ * count as unread until the student opens them.
+ */
+@Service
+public class InboxService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String INCREMENT_UNREAD =
+        "INSERT INTO student_unread_counts (student_key, unread_count) VALUES (?, 1)" +
+        " ON DUPLICATE KEY UPDATE unread_count = unread_count + 1";
+
+    private static final String DECREMENT_UNREAD =
+        "UPDATE student_unread_counts SET unread_count = GREATEST(unread_count - 1, 0) WHERE student_key = ?";
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private AnnouncementRepository announcementRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NotificationHub notificationHub;
+
+    private static final Comparator<Message> NEWEST_FIRST =
+        Comparator.comparing(Message::getTimestamp).thenComparing(Message::getId).reversed();
+
+    // What an announcement audience is matched against: the student's course, section and that section's year level
+    private record Audience(String course, String section, String yearLevel) {}
+
+    @Transactional
+    public Message send(Message message) {
+        Message saved = messageRepository.save(message);
+        if (!Boolean.TRUE.equals(saved.getIsRead())) {
+            jdbcTemplate.update(INCREMENT_UNREAD, KeyNormalizer.normalize(saved.getStudentId()));
+        }
+        notificationHub.toStudent(saved.getStudentId(), NotificationHub.INBOX);
+        return saved;
+    }
+
+    // Empty when the message does not exist; marking an already-read message again changes nothing.
+    // Announcements are marked read for studentId (direct messages already know their student).
+    @Transactional
+    public Optional<Message> markRead(Long messageId, String studentId) {
+        Optional<Message> message = messageRepository.findById(messageId);
+        if (message.isPresent()) {
+            if (messageRepository.markRead(messageId) == 1) {
+                jdbcTemplate.update(DECREMENT_UNREAD, KeyNormalizer.normalize(message.get().getStudentId()));
+                message.get().setIsRead(true);
+            }
+            return message;
+        }
+        if (studentId == null || studentId.isBlank()) {
+            return Optional.empty();
+        }
+        return announcementRepository.findById(messageId).map(announcement -> {
+            jdbcTemplate.update("INSERT IGNORE INTO announcement_reads (announcement_id, student_key) VALUES (?, ?)",
+                messageId, KeyNormalizer.normalize(studentId));
+            return toMessage(announcement, studentId, true);
+        });
+    }
+
+    // Direct messages come from the maintained counter; unread announcements are counted against the read table
+    public int unreadCount(String studentId) {
+        String studentKey = KeyNormalizer.normalize(studentId);
+        List<Integer> counts = jdbcTemplate.queryForList(
+            "SELECT unread_count FROM student_unread_counts WHERE student_key = ?", Integer.class, studentKey);
+        int unread = counts.isEmpty() ? 0 : counts.get(0);
+        Audience audience = audienceOf(studentKey);
+        if (audience != null) {
+            Integer broadcasts = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM announcements a WHERE (a.audience_type = 'ALL'" +
+                " OR (a.audience_type = 'COURSE' AND a.audience_value = ?)" +
+                " OR (a.audience_type = 'SECTION' AND a.audience_value = ?)" +
+                " OR (a.audience_type = 'YEAR_LEVEL' AND a.audience_value = ?))" +
+                " AND NOT EXISTS (SELECT 1 FROM announcement_reads r WHERE r.student_key = ? AND r.announcement_id = a.id)",
+                Integer.class, audience.course(), audience.section(), audience.yearLevel(), studentKey);
+            unread += broadcasts != null ? broadcasts : 0;
+        }
+        return unread;
+    }
+
+    // Cursor is "<timestamp>_<id>" of the last message on the previous page
+    public KeysetPage<Message> getPage(String studentId, String cursor, Integer size) {
+        int limit = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        LocalDateTime beforeTimestamp = null;
+        Long beforeId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            int split = cursor.lastIndexOf('_');
+            try {
+                if (split <= 0) {
+                    throw new IllegalArgumentException("Invalid cursor: " + cursor);
+                }
+                beforeTimestamp = LocalDateTime.parse(cursor.substring(0, split));
+                beforeId = Long.valueOf(cursor.substring(split + 1));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+        String studentKey = KeyNormalizer.normalize(studentId);
+        PageRequest firstRows = PageRequest.of(0, limit + 1);
+        List<Message> rows = new ArrayList<>(messageRepository.findPage(studentKey, beforeTimestamp, beforeId, firstRows));
+        // Both sources are read past the same cursor, then merged; ids share one sequence so (timestamp, id) is unique
+        Audience audience = audienceOf(studentKey);
+        if (audience != null) {
+            List<Announcement> broadcasts = announcementRepository.findPageForAudience(audience.course(), audience.section(),
+                audience.yearLevel(), beforeTimestamp, beforeId, firstRows);
+            Set<Long> read = readAnnouncementIds(studentKey, broadcasts);
+            broadcasts.forEach(a -> rows.add(toMessage(a, studentId, read.contains(a.getId()))));
+            rows.sort(NEWEST_FIRST);
+            if (rows.size() > limit + 1) {
+                rows.subList(limit + 1, rows.size()).clear();
+            }
+        }
+        boolean hasMore = rows.size() > limit;
+        List<Message> items = hasMore ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        Message last = hasMore ? items.get(items.size() - 1) : null;
+        return new KeysetPage<>(items, last != null ? last.getTimestamp() + "_" + last.getId() : null, hasMore);
+    }
+
+    @Transactional
+    public void deleteForStudent(String studentId) {
+        String studentKey = KeyNormalizer.normalize(studentId);
+        messageRepository.deleteByStudentKey(studentKey);
+        jdbcTemplate.update("DELETE FROM student_unread_counts WHERE student_key = ?", studentKey);
+        jdbcTemplate.update("DELETE FROM announcement_reads WHERE student_key = ?", studentKey);
+    }
+
+    // --- Announcements ---
+
+    @Transactional
+    public Announcement broadcast(Announcement announcement) {
+        String type = announcement.getAudienceType() != null ? announcement.getAudienceType().trim().toUpperCase(Locale.ROOT) : "";
+        if (!List.of(Announcement.ALL, Announcement.COURSE, Announcement.SECTION, Announcement.YEAR_LEVEL).contains(type)) {
+            throw new IllegalArgumentException("Audience type must be ALL, COURSE, SECTION or YEAR_LEVEL");
+        }
+        if (!Announcement.ALL.equals(type) && (announcement.getAudienceValue() == null || announcement.getAudienceValue().isBlank())) {
+            throw new IllegalArgumentException("Audience value is required for " + type + " announcements");
+        }
+        if (announcement.getSubject() == null || announcement.getSubject().isBlank()
+                || announcement.getContent() == null || announcement.getContent().isBlank()) {
+            throw new IllegalArgumentException("Subject and content are required");
+        }
+        announcement.setId(null);
+        announcement.setAudienceType(type);
+        if (announcement.getAudienceValue() != null) {
+            announcement.setAudienceValue(announcement.getAudienceValue().trim());
+        }
+        if (announcement.getSender() == null || announcement.getSender().isBlank()) {
+            announcement.setSender("System");
+        }
+        Announcement saved = announcementRepository.save(announcement);
+        notificationHub.toAllStudents(NotificationHub.INBOX);
+        return saved;
+    }
+
+    public List<Announcement> getAnnouncements() {
+        return announcementRepository.findAllByOrderByTimestampDescIdDesc();
+    }
+
+    @Transactional
+    public boolean deleteAnnouncement(Long id) {
+        if (!announcementRepository.existsById(id)) {
+            return false;
+        }
+        jdbcTemplate.update("DELETE FROM announcement_reads WHERE announcement_id = ?", id);
+        announcementRepository.deleteById(id);
+        return true;
+    }
+
+    private Audience audienceOf(String studentKey) {
+        List<Audience> rows = jdbcTemplate.query(
+            "SELECT u.course, u.section, s.year_level FROM users u LEFT JOIN sections s ON s.id = u.section" +
+            " WHERE u.id_key = ? AND u.role = 'student'",
+            (rs, rowNum) -> new Audience(rs.getString("course"), rs.getString("section"), rs.getString("year_level")),
+            studentKey);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private Set<Long> readAnnouncementIds(String studentKey, List<Announcement> announcements) {
+        if (announcements.isEmpty()) {
+            return Set.of();
+        }
+        List<Object> params = new ArrayList<>();
+        params.add(studentKey);
+        announcements.forEach(a -> params.add(a.getId()));
+        String placeholders = String.join(", ", Collections.nCopies(announcements.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(
+            "SELECT announcement_id FROM announcement_reads WHERE student_key = ? AND announcement_id IN (" + placeholders + ")",
+            Long.class, params.toArray()));
+    }
+
+    // Inbox view of an announcement for one student; never persisted
+    private static Message toMessage(Announcement announcement, String studentId, boolean read) {
+        Message message = new Message(studentId, announcement.getSender(), announcement.getSubject(),
+            announcement.getContent(), announcement.getTimestamp().toString(), read);
+        message.setId(announcement.getId());
+        return message;
+    }
+
+    /**
+     * Consistency rebuild of every unread counter from the messages table.
+     */
+    @Transactional
+    public int rebuildUnreadCounts() {
+        jdbcTemplate.update("DELETE FROM student_unread_counts");
+        int rows = jdbcTemplate.update(
+            "INSERT INTO student_unread_counts (student_key, unread_count)" +
+            " SELECT UPPER(TRIM(student_id)), COUNT(*) FROM messages WHERE is_read = 0 OR is_read IS NULL" +
+            " GROUP BY UPPER(TRIM(student_id))");
+        System.out.println("Rebuilt unread counters for " + rows + " students");
+        return rows;
+    }
+}
@@ -0,0 +1,257 @@
+package com.oasis.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oasis.model.EnrollmentRequest;
+import com.oasis.model.KeysetPage;
+import com.oasis.model.PaymentLedgerEntry;
+import com.oasis.model.ScheduleItem;
+import com.oasis.model.SectionScheduleItem;
+import com.oasis.model.StudentAccount;
+import com.oasis.model.User;
+import com.oasis.repository.EnrollmentRequestRepository;
+import com.oasis.repository.ScheduleItemRepository;
+import com.oasis.repository.SectionScheduleItemRepository;
+import com.oasis.repository.StudentAccountRepository;
+import com.oasis.repository.StreamingQueries;
+import com.oasis.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Keyset-paginated and streaming variants of the admin list endpoints.
+ * Pages seek past the last key of the previous page instead of using OFFSET; streams write a JSON
+ * array straight from a database cursor, detaching each row once written so memory stays flat.
+ */
+@Service
+public class ListingService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ScheduleItemRepository scheduleItemRepository;
+
+    @Autowired
+    private SectionScheduleItemRepository sectionScheduleItemRepository;
+
+    @Autowired
+    private StudentAccountRepository studentAccountRepository;
+
+    @Autowired
+    private EnrollmentRequestRepository enrollmentRequestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PaymentLedgerService paymentLedgerService;
+
+    // --- Users ---
+
+    @Transactional(readOnly = true)
+    public KeysetPage<User> getUsersPage(String cursor, Integer size, String role, String course, String section, String status) {
+        int limit = pageSize(size);
+        List<User> users = userRepository.findPage(blankToNull(cursor), blankToNull(role), blankToNull(course),
+            blankToNull(section), blankToNull(status), PageRequest.of(0, limit + 1));
+        users.forEach(u -> {
+            entityManager.detach(u);
+            u.setPassword(null); // Hide passwords
+        });
+        return toPage(users, limit, User::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamUsers(OutputStream out, String role, String course, String section, String status) throws IOException {
+        try (Stream<User> users = userRepository.streamAll(blankToNull(role), blankToNull(course),
+                blankToNull(section), blankToNull(status))) {
+            writeArray(out, users, u -> u.setPassword(null));
+        }
+    }
+
+    // --- Schedules (per-student rows and section timetable share one id sequence) ---
+
+    @Transactional(readOnly = true)
+    public KeysetPage<ScheduleItem> getSchedulesPage(String cursor, Integer size, String academicYear, String semester, String faculty) {
+        int limit = pageSize(size);
+        Long after = KeysetPage.idCursor(cursor);
+        PageRequest firstRows = PageRequest.of(0, limit + 1);
+        List<ScheduleItem> items = new ArrayList<>(scheduleItemRepository.findPage(after, blankToNull(academicYear),
+            blankToNull(semester), blankToNull(faculty), firstRows));
+        sectionScheduleItemRepository.findPage(after, blankToNull(academicYear), blankToNull(semester), blankToNull(faculty), firstRows)
+            .forEach(item -> items.add(AuthService.toScheduleItem(item, null)));
+        items.sort(Comparator.comparing(ScheduleItem::getId));
+        return toPage(items.size() > limit + 1 ? items.subList(0, limit + 1) : items, limit, item -> String.valueOf(item.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamSchedules(OutputStream out, String academicYear, String semester, String faculty) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        json.writeStartArray();
+        try (Stream<ScheduleItem> items = scheduleItemRepository.streamAll(blankToNull(academicYear), blankToNull(semester), blankToNull(faculty))) {
+            items.forEach(item -> writeRow(json, item, item));
+        }
+        try (Stream<SectionScheduleItem> items = sectionScheduleItemRepository.streamAll(
+                blankToNull(academicYear), blankToNull(semester), blankToNull(faculty))) {
+            items.forEach(item -> writeRow(json, item, AuthService.toScheduleItem(item, null)));
+        }
+        json.writeEndArray();
+        json.flush();
+    }
+
+    // --- Student accounts ---
+
+    @Transactional(readOnly = true)
+    public KeysetPage<StudentAccount> getAccountsPage(String cursor, Integer size, String academicYear, String semester) {
+        int limit = pageSize(size);
+        List<String> ids = studentAccountRepository.findPageIds(blankToNull(cursor), blankToNull(academicYear),
+            blankToNull(semester), PageRequest.of(0, limit + 1));
+        List<StudentAccount> accounts = ids.isEmpty() ? new ArrayList<>()
+            : paymentLedgerService.attachPayments(new ArrayList<>(studentAccountRepository.findByStudentIdInOrderByStudentId(ids)));
+        accounts.sort(Comparator.comparing(StudentAccount::getStudentId));
+        return toPage(accounts, limit, StudentAccount::getStudentId);
+    }
+
+    // One joined cursor over accounts and payments, grouped as rows arrive (ordered by student id)
+    public void streamAccounts(OutputStream out, String academicYear, String semester) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        json.writeStartArray();
+        StudentAccount[] current = new StudentAccount[1];
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(
+            "SELECT a.student_id, a.total_balance, a.remaining_balance, a.academic_year, a.semester," +
+            " p.id AS payment_id, p.amount, p.payment_date, p.description" +
+            " FROM student_accounts a LEFT JOIN payment_ledger p ON p.student_key = UPPER(TRIM(a.student_id)) WHERE 1 = 1");
+        if (blankToNull(academicYear) != null) {
+            sql.append(" AND a.academic_year = ?");
+            params.add(academicYear);
+        }
+        if (blankToNull(semester) != null) {
+            sql.append(" AND a.semester = ?");
+            params.add(semester);
+        }
+        sql.append(" ORDER BY a.student_id, p.id");
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.parseInt(StreamingQueries.FETCH_SIZE));
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            return statement;
+        }, rs -> {
+            String studentId = rs.getString("student_id");
+            if (current[0] == null || !current[0].getStudentId().equals(studentId)) {
+                if (current[0] != null) {
+                    writeObject(json, current[0]);
+                }
+                current[0] = new StudentAccount(studentId, rs.getObject("total_balance", Double.class), new ArrayList<>(),
+                    rs.getObject("remaining_balance", Double.class), rs.getString("academic_year"), rs.getString("semester"));
+            }
+            if (rs.getObject("payment_id") != null) {
+                PaymentLedgerEntry payment = new PaymentLedgerEntry(studentId, rs.getObject("amount", Double.class),
+                    rs.getObject("payment_date", LocalDate.class), rs.getString("description"));
+                current[0].getPayments().add(payment.getPaymentInfo());
+            }
+        });
+        if (current[0] != null) {
+            writeObject(json, current[0]);
+        }
+        json.writeEndArray();
+        json.flush();
+    }
+
+    // --- Enrollment requests ---
+
+    @Transactional(readOnly = true)
+    public KeysetPage<EnrollmentRequest> getEnrollmentRequestsPage(String cursor, Integer size, String status, String course, String sectionId) {
+        int limit = pageSize(size);
+        Long after = KeysetPage.idCursor(cursor);
+        List<EnrollmentRequest> requests = enrollmentRequestRepository.findPage(after, blankToNull(status), blankToNull(course),
+            blankToNull(sectionId), PageRequest.of(0, limit + 1));
+        return toPage(requests, limit, request -> String.valueOf(request.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamEnrollmentRequests(OutputStream out, String status, String course, String sectionId) throws IOException {
+        try (Stream<EnrollmentRequest> requests = enrollmentRequestRepository.streamAll(blankToNull(status),
+                blankToNull(course), blankToNull(sectionId))) {
+            writeArray(out, requests, request -> {});
+        }
+    }
+
+    // --- Helpers ---
+
+    private <T> void writeArray(OutputStream out, Stream<T> rows, Consumer<T> beforeWrite) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        json.writeStartArray();
+        rows.forEach(row -> {
+            entityManager.detach(row);
+            beforeWrite.accept(row);
+            writeObject(json, row);
+        });
+        json.writeEndArray();
+        json.flush();
+    }
+
+    private void writeRow(JsonGenerator json, Object entity, Object view) {
+        entityManager.detach(entity);
+        writeObject(json, view);
+    }
+
+    private void writeObject(JsonGenerator json, Object value) {
+        try {
+            json.writeObject(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Fetches ask for limit + 1 rows; the extra row only tells us whether another page exists
+    private <T> KeysetPage<T> toPage(List<T> rows, int limit, Function<T, String> key) {
+        boolean hasMore = rows.size() > limit;
+        List<T> items = hasMore ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        String nextCursor = hasMore ? key.apply(items.get(items.size() - 1)) : null;
+        return new KeysetPage<>(items, nextCursor, hasMore);
+    }
+
+    private static int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
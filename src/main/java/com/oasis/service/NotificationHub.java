@@ -0,0 +1,114 @@
+package com.oasis.service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.oasis.model.KeyNormalizer;
+
+/**
+ * Server-Sent Events registry for the student and admin pages.
+ * Each open page holds one {@link SseEmitter}; emitters are async servlet responses, so an idle
+ * connection costs a map entry and a socket rather than a request thread.
+ * Events only say what changed ("inbox", "grades", "account", "enrollment"); clients reload the
+ * affected view. Publishing waits for the surrounding transaction to commit.
+ */
+@Component
+public class NotificationHub {
+
+    public static final String INBOX = "inbox";
+    public static final String GRADES = "grades";
+    public static final String ACCOUNT = "account";
+    public static final String ENROLLMENT = "enrollment";
+
+    // EventSource reconnects on its own once this expires
+    private static final long EMITTER_TIMEOUT_MS = 30L * 60 * 1000;
+
+    private static final String ADMINS = "#admins";
+
+    private final Map<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribeStudent(String studentId) {
+        return subscribe(KeyNormalizer.normalize(studentId));
+    }
+
+    public SseEmitter subscribeAdmin() {
+        return subscribe(ADMINS);
+    }
+
+    private SseEmitter subscribe(String channel) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Set<SseEmitter> emitters = subscribers.computeIfAbsent(channel, key -> new CopyOnWriteArraySet<>());
+        emitters.add(emitter);
+        Runnable remove = () -> unsubscribe(channel, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        // First write commits the response headers so the browser sees the stream open
+        send(channel, emitter, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    private void unsubscribe(String channel, SseEmitter emitter) {
+        subscribers.computeIfPresent(channel, (key, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    // --- Publishing ---
+
+    public void toStudent(String studentId, String event) {
+        String channel = KeyNormalizer.normalize(studentId);
+        if (channel != null) {
+            TransactionCallbacks.afterCommit(() -> publish(channel, event));
+        }
+    }
+
+    public void toAdmins(String event) {
+        TransactionCallbacks.afterCommit(() -> publish(ADMINS, event));
+    }
+
+    // For broadcasts whose audience is resolved on the client by reloading its own view
+    public void toAllStudents(String event) {
+        TransactionCallbacks.afterCommit(() -> subscribers.keySet().stream()
+            .filter(channel -> !ADMINS.equals(channel))
+            .forEach(channel -> publish(channel, event)));
+    }
+
+    public int connectionCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void publish(String channel, String event) {
+        Set<SseEmitter> emitters = subscribers.get(channel);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            send(channel, emitter, SseEmitter.event().name(event).data(event));
+        }
+    }
+
+    // Keeps proxies from closing idle streams and flushes out connections the client has dropped
+    @Scheduled(fixedDelay = 25000)
+    public void heartbeat() {
+        subscribers.forEach((channel, emitters) ->
+            emitters.forEach(emitter -> send(channel, emitter, SseEmitter.event().comment("ping"))));
+    }
+
+    private void send(String channel, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(channel, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+}
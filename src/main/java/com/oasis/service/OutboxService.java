@@ -0,0 +1,253 @@
+package com.oasis.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oasis.model.Message;
+import com.oasis.model.OutboxEvent;
+import com.oasis.model.StudentForm;
+import com.oasis.repository.StudentFormRepository;
+
+/**
+ * Transactional outbox for the side effects of enrollment and registration.
+ * Callers record what should happen (send a message, file a form, push an event) in the same
+ * transaction as their own writes; after commit a background drain carries the rows out in
+ * batches of BATCH_SIZE, each in its own transaction, so a side effect is applied exactly once
+ * or retried with backoff. A poll picks up anything a wake-up missed, including rows left by a
+ * node that stopped.
+ */
+@Service
+public class OutboxService {
+
+    static final int BATCH_SIZE = 100;
+    static final int MAX_ATTEMPTS = 8;
+
+    private static final String SEND_MESSAGE = "SEND_MESSAGE";
+    private static final String CREATE_FORM = "CREATE_FORM";
+    private static final String NOTIFY_STUDENT = "NOTIFY_STUDENT";
+    private static final String NOTIFY_ADMINS = "NOTIFY_ADMINS";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InboxService inboxService;
+
+    @Autowired
+    private StudentFormRepository studentFormRepository;
+
+    @Autowired
+    private NotificationHub notificationHub;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor executor;
+
+    private final TransactionTemplate eventTransaction;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+
+    // A system inbox message to record; see sendMessages
+    public record MessageDraft(String studentId, String subject, String content) {}
+
+    public OutboxService(PlatformTransactionManager transactionManager) {
+        this.eventTransaction = new TransactionTemplate(transactionManager);
+        this.eventTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // --- Recording (joins the caller's transaction) ---
+
+    public void sendMessage(String studentId, String subject, String content) {
+        sendMessages(List.of(new MessageDraft(studentId, subject, content)));
+    }
+
+    // Many messages as one JDBC batch
+    public void sendMessages(List<MessageDraft> messages) {
+        // Stamped now, so the message is dated when the change happened rather than when it was delivered
+        String timestamp = LocalDateTime.now().toString();
+        List<Map<String, String>> payloads = new ArrayList<>();
+        for (MessageDraft message : messages) {
+            Map<String, String> payload = new LinkedHashMap<>();
+            payload.put("studentId", message.studentId());
+            payload.put("sender", "System");
+            payload.put("subject", message.subject());
+            payload.put("content", message.content());
+            payload.put("timestamp", timestamp);
+            payloads.add(payload);
+        }
+        enqueue(SEND_MESSAGE, payloads);
+    }
+
+    public void createForm(String studentId, String formType, String status, String remarks) {
+        Map<String, String> payload = new LinkedHashMap<>();
+        payload.put("studentId", studentId);
+        payload.put("formType", formType);
+        payload.put("requestDate", LocalDate.now().toString());
+        payload.put("status", status);
+        payload.put("remarks", remarks);
+        enqueue(CREATE_FORM, List.of(payload));
+    }
+
+    public void notifyStudent(String studentId, String event) {
+        notifyStudents(List.of(studentId), event);
+    }
+
+    public void notifyStudents(Collection<String> studentIds, String event) {
+        enqueue(NOTIFY_STUDENT, studentIds.stream().map(id -> Map.of("studentId", id, "event", event)).toList());
+    }
+
+    public void notifyAdmins(String event) {
+        enqueue(NOTIFY_ADMINS, List.of(Map.of("event", event)));
+    }
+
+    private void enqueue(String eventType, List<Map<String, String>> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        payloads.forEach(payload -> rows.add(new Object[] {eventType, toJson(payload), OutboxEvent.PENDING, now, now}));
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO outbox_events (event_type, payload, status, attempts, created_at, next_attempt_at) VALUES (?, ?, ?, 0, ?, ?)",
+            rows);
+        TransactionCallbacks.afterCommit(this::wake);
+    }
+
+    // --- Dispatch ---
+
+    private void wake() {
+        drainRequested.set(true);
+        if (!draining.get()) {
+            executor.execute(this::drain);
+        }
+    }
+
+    @Scheduled(fixedDelay = 5000, initialDelay = 10000)
+    public void poll() {
+        drainRequested.set(true);
+        drain();
+    }
+
+    // One drain at a time per node; a wake-up during a drain makes it go round again
+    private void drain() {
+        while (drainRequested.get() && draining.compareAndSet(false, true)) {
+            try {
+                drainRequested.set(false);
+                while (drainBatch() == BATCH_SIZE) {
+                    // full batch: more are probably waiting
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Outbox drain failed: " + e.getMessage());
+                return;
+            } finally {
+                draining.set(false);
+            }
+        }
+    }
+
+    private int drainBatch() {
+        List<Long> ids = jdbcTemplate.queryForList(
+            "SELECT id FROM outbox_events WHERE status = ? AND next_attempt_at <= ? ORDER BY id LIMIT ?",
+            Long.class, OutboxEvent.PENDING, Timestamp.valueOf(LocalDateTime.now()), BATCH_SIZE);
+        ids.forEach(this::dispatch);
+        return ids.size();
+    }
+
+    private void dispatch(Long id) {
+        try {
+            eventTransaction.executeWithoutResult(status -> {
+                // SKIP LOCKED: another node already working on this row is left to finish it
+                List<OutboxEvent> rows = jdbcTemplate.query(
+                    "SELECT event_type, payload FROM outbox_events WHERE id = ? AND status = ? FOR UPDATE SKIP LOCKED",
+                    (rs, rowNum) -> {
+                        OutboxEvent event = new OutboxEvent();
+                        event.setEventType(rs.getString("event_type"));
+                        event.setPayload(rs.getString("payload"));
+                        return event;
+                    },
+                    id, OutboxEvent.PENDING);
+                if (rows.isEmpty()) {
+                    return;
+                }
+                apply(rows.get(0).getEventType(), fromJson(rows.get(0).getPayload()));
+                jdbcTemplate.update("UPDATE outbox_events SET status = ?, processed_at = ?, last_error = NULL WHERE id = ?",
+                    OutboxEvent.DONE, Timestamp.valueOf(LocalDateTime.now()), id);
+            });
+        } catch (RuntimeException e) {
+            recordFailure(id, e);
+        }
+    }
+
+    private void apply(String eventType, Map<String, String> payload) {
+        switch (eventType) {
+            case SEND_MESSAGE -> inboxService.send(new Message(payload.get("studentId"), payload.get("sender"),
+                payload.get("subject"), payload.get("content"), payload.get("timestamp"), false));
+            case CREATE_FORM -> studentFormRepository.save(new StudentForm(payload.get("studentId"), payload.get("formType"),
+                payload.get("requestDate"), payload.get("status"), payload.get("remarks")));
+            case NOTIFY_STUDENT -> notificationHub.toStudent(payload.get("studentId"), payload.get("event"));
+            case NOTIFY_ADMINS -> notificationHub.toAdmins(payload.get("event"));
+            default -> throw new IllegalStateException("Unknown outbox event type: " + eventType);
+        }
+    }
+
+    // Exponential backoff (2, 4, 8 ... seconds); the row is parked as FAILED after MAX_ATTEMPTS
+    private void recordFailure(Long id, RuntimeException e) {
+        System.err.println("Outbox event " + id + " failed: " + e.getMessage());
+        String error = String.valueOf(e.getMessage());
+        jdbcTemplate.update(
+            "UPDATE outbox_events SET attempts = attempts + 1," +
+            " status = CASE WHEN attempts >= ? THEN ? ELSE status END," +
+            " next_attempt_at = TIMESTAMPADD(SECOND, POW(2, attempts), ?), last_error = ?" +
+            " WHERE id = ? AND status = ?",
+            MAX_ATTEMPTS, OutboxEvent.FAILED, Timestamp.valueOf(LocalDateTime.now()),
+            error.length() > 500 ? error.substring(0, 500) : error, id, OutboxEvent.PENDING);
+    }
+
+    // Delivered rows are only kept for a week
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeDelivered() {
+        int purged = jdbcTemplate.update("DELETE FROM outbox_events WHERE status = ? AND processed_at < ?",
+            OutboxEvent.DONE, Timestamp.valueOf(LocalDateTime.now().minusDays(7)));
+        System.out.println("Purged " + purged + " delivered outbox events");
+    }
+
+    private String toJson(Map<String, String> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+    }
+
+    private Map<String, String> fromJson(String payload) {
+        try {
+            return objectMapper.readValue(payload, new TypeReference<Map<String, String>>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read outbox payload", e);
+        }
+    }
+}
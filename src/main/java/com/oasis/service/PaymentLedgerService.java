@@ -0,0 +1,162 @@
+package com.oasis.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.oasis.model.KeyNormalizer;
+import com.oasis.model.KeysetPage;
+import com.oasis.model.PaymentLedgerEntry;
+import com.oasis.model.StudentAccount;
+import com.oasis.repository.PaymentLedgerRepository;
+
+/**
+ * Student payments as an append-only ledger (payment_ledger).
+ * Recording a payment is one INSERT plus one atomic decrement of remaining_balance, so its cost
+ * does not grow with the account's history and concurrent payments cannot lose an update.
+ * Accounts still carry their payments as display lines, filled from the ledger when read.
+ */
+@Service
+public class PaymentLedgerService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Lines written by the old student_payments element collection: "date: amount - description"
+    private static final Pattern LEGACY_PAYMENT = Pattern.compile("^(.*?): (-?[0-9]+(?:\\.[0-9]+)?) - (.*)$", Pattern.DOTALL);
+
+    @Autowired
+    private PaymentLedgerRepository paymentLedgerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NotificationHub notificationHub;
+
+    /**
+     * Appends a payment and takes it off the remaining balance. Returns false when the student
+     * has no account; throws IllegalArgumentException for a non-positive amount or a bad date.
+     */
+    @Transactional
+    public boolean recordPayment(String studentId, double amount, String date, String description) {
+        if (!(amount > 0)) {
+            throw new IllegalArgumentException("Payment amount must be greater than 0");
+        }
+        LocalDate paymentDate;
+        try {
+            paymentDate = date == null || date.isBlank() ? LocalDate.now() : LocalDate.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Payment date must be YYYY-MM-DD");
+        }
+        // Column collation makes the id match case-insensitive, as findByStudentIdIgnoreCase did
+        int updated = jdbcTemplate.update(
+            "UPDATE student_accounts SET remaining_balance = remaining_balance - ? WHERE student_id = ?", amount, studentId);
+        if (updated == 0) {
+            return false;
+        }
+        paymentLedgerRepository.save(new PaymentLedgerEntry(studentId, amount, paymentDate, description));
+        notificationHub.toStudent(studentId, NotificationHub.ACCOUNT);
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<PaymentLedgerEntry> getHistoryPage(String studentId, String cursor, Integer size) {
+        int limit = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        Long beforeId = KeysetPage.idCursor(cursor);
+        List<PaymentLedgerEntry> rows = paymentLedgerRepository.findPage(KeyNormalizer.normalize(studentId), beforeId,
+            PageRequest.of(0, limit + 1));
+        boolean hasMore = rows.size() > limit;
+        List<PaymentLedgerEntry> items = hasMore ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        String nextCursor = hasMore ? String.valueOf(items.get(items.size() - 1).getId()) : null;
+        return new KeysetPage<>(items, nextCursor, hasMore);
+    }
+
+    // Display lines for the given accounts in one query
+    public <T extends Collection<StudentAccount>> T attachPayments(T accounts) {
+        if (accounts.isEmpty()) {
+            return accounts;
+        }
+        Map<String, StudentAccount> byKey = new HashMap<>();
+        accounts.forEach(a -> {
+            a.setPayments(new ArrayList<>());
+            byKey.put(KeyNormalizer.normalize(a.getStudentId()), a);
+        });
+        for (PaymentLedgerEntry entry : paymentLedgerRepository.findByStudentKeyInOrderByIdAsc(byKey.keySet())) {
+            StudentAccount account = byKey.get(entry.getStudentKey());
+            if (account != null) {
+                account.getPayments().add(entry.getPaymentInfo());
+            }
+        }
+        return accounts;
+    }
+
+    public StudentAccount attachPayments(StudentAccount account) {
+        attachPayments(List.of(account));
+        return account;
+    }
+
+    // Student key -> display lines, for the admin account table
+    public Map<String, List<String>> paymentInfoByStudent() {
+        Map<String, List<String>> byStudent = new HashMap<>();
+        for (PaymentLedgerEntry entry : paymentLedgerRepository.findAllByOrderByIdAsc()) {
+            byStudent.computeIfAbsent(entry.getStudentKey(), key -> new ArrayList<>()).add(entry.getPaymentInfo());
+        }
+        return byStudent;
+    }
+
+    public void deleteForStudent(String studentId) {
+        paymentLedgerRepository.deleteByStudentKey(KeyNormalizer.normalize(studentId));
+    }
+
+    /**
+     * One-time move of the old student_payments lines into the ledger. Runs only while the ledger
+     * is empty; the old table is left in place. Returns the number of rows imported.
+     */
+    @Transactional
+    public int importLegacyPayments() {
+        Integer legacyTable = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'student_payments'",
+            Integer.class);
+        if (legacyTable == null || legacyTable == 0 || paymentLedgerRepository.count() > 0) {
+            return 0;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        jdbcTemplate.query("SELECT student_id, payment_info FROM student_payments", rs -> {
+            String studentId = rs.getString("student_id");
+            String info = rs.getString("payment_info");
+            Matcher m = info != null ? LEGACY_PAYMENT.matcher(info) : null;
+            if (m == null || !m.matches()) {
+                System.err.println("[WARN] Skipping unreadable payment for " + studentId + ": " + info);
+                return;
+            }
+            LocalDate paymentDate;
+            try {
+                paymentDate = LocalDate.parse(m.group(1).trim());
+            } catch (DateTimeParseException e) {
+                paymentDate = null;
+            }
+            rows.add(new Object[] {studentId, KeyNormalizer.normalize(studentId), Double.valueOf(m.group(2)),
+                paymentDate, m.group(3)});
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO payment_ledger (student_id, student_key, amount, payment_date, description, recorded_at)" +
+                " VALUES (?, ?, ?, ?, ?, NOW())", rows);
+        }
+        System.out.println("Imported " + rows.size() + " legacy payments into the payment ledger");
+        return rows.size();
+    }
+}
@@ -0,0 +1,327 @@
+package com.oasis.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.oasis.model.Course;
+import com.oasis.model.Curriculum;
+import com.oasis.model.FacultySummary;
+import com.oasis.model.SectionSummary;
+import com.oasis.model.Subject;
+import com.oasis.repository.CourseRepository;
+import com.oasis.repository.CurriculumRepository;
+import com.oasis.repository.FacultyRepository;
+import com.oasis.repository.SectionRepository;
+import com.oasis.repository.SubjectRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-process snapshots of the catalog tables (courses, subjects, sections, faculty, curricula).
+ * Each catalog is loaded once into an unmodifiable list of detached copies and served from memory
+ * until one of its CRUD paths calls the matching invalidate method, which drops it after commit.
+ * Hits and misses are published as {@code oasis.refdata.cache.requests{cache, result}}.
+ * Every invalidation also bumps the catalog's version, which the GET endpoints expose as an ETag.
+ */
+@Component
+public class ReferenceDataCache {
+
+    public static final String METRIC = "oasis.refdata.cache.requests";
+
+    public enum Catalog { COURSES, SUBJECTS, SECTIONS, FACULTY, CURRICULA }
+
+    // Versions restart at 0 with the process; the start time keeps old ETags from matching new data
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private FacultyRepository facultyRepository;
+
+    @Autowired
+    private CurriculumRepository curriculumRepository;
+
+    private final Snapshot<Course> courses = new Snapshot<>("courses", this::loadCourses);
+    private final Snapshot<Subject> subjects = new Snapshot<>("subjects", this::loadSubjects);
+    private final Snapshot<SectionSummary> sections = new Snapshot<>("sections", this::loadSections);
+    private final Snapshot<FacultySummary> faculty = new Snapshot<>("faculty", this::loadFaculty);
+    private final Snapshot<Curriculum> curricula = new Snapshot<>("curricula", this::loadCurricula);
+
+    public ReferenceDataCache(MeterRegistry meterRegistry) {
+        for (Snapshot<?> snapshot : List.of(courses, subjects, sections, faculty, curricula)) {
+            FunctionCounter.builder(METRIC, snapshot.hits, AtomicLong::get)
+                .tag("cache", snapshot.name).tag("result", "hit")
+                .description("Reference-data reads served from memory")
+                .register(meterRegistry);
+            FunctionCounter.builder(METRIC, snapshot.misses, AtomicLong::get)
+                .tag("cache", snapshot.name).tag("result", "miss")
+                .description("Reference-data reads that loaded the catalog from the database")
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * One lazily loaded catalog. A load that races with an invalidation is not published, so a
+     * snapshot read before a commit can never overwrite the drop that follows it.
+     */
+    private static final class Snapshot<T> {
+        private final String name;
+        private final Supplier<List<T>> loader;
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong generation = new AtomicLong();
+        private volatile Loaded<T> current;
+
+        private Snapshot(String name, Supplier<List<T>> loader) {
+            this.name = name;
+            this.loader = loader;
+        }
+
+        List<T> get() {
+            return loaded().rows;
+        }
+
+        // Lookup maps are built once per loaded snapshot and dropped with it
+        @SuppressWarnings("unchecked")
+        <K> Map<K, T> index(String name, Function<List<T>, Map<K, T>> build) {
+            Loaded<T> value = loaded();
+            return (Map<K, T>) value.indexes.computeIfAbsent(name, key -> build.apply(value.rows));
+        }
+
+        private Loaded<T> loaded() {
+            Loaded<T> value = current;
+            if (value != null) {
+                hits.incrementAndGet();
+                return value;
+            }
+            synchronized (this) {
+                value = current;
+                if (value != null) {
+                    hits.incrementAndGet();
+                    return value;
+                }
+                misses.incrementAndGet();
+                long seen = generation.get();
+                value = new Loaded<>(List.copyOf(loader.get()));
+                if (generation.get() == seen) {
+                    current = value;
+                }
+                return value;
+            }
+        }
+
+        void invalidate() {
+            generation.incrementAndGet();
+            current = null;
+        }
+    }
+
+    private static final class Loaded<T> {
+        private final List<T> rows;
+        private final Map<String, Map<?, T>> indexes = new ConcurrentHashMap<>();
+
+        private Loaded(List<T> rows) {
+            this.rows = rows;
+        }
+    }
+
+    // --- Reads ---
+
+    public List<Course> getCourses() {
+        return courses.get();
+    }
+
+    public Optional<Course> findCourse(String code) {
+        return Optional.ofNullable(code == null ? null : courses.<String>index("code", ReferenceDataCache::byCode).get(upper(code)));
+    }
+
+    public Optional<Course> findCourseByName(String name) {
+        return Optional.ofNullable(name == null ? null : courses.<String>index("name", ReferenceDataCache::byName).get(upper(name)));
+    }
+
+    public List<Subject> getSubjects() {
+        return subjects.get();
+    }
+
+    public List<Subject> getSubjectsByCourse(String courseCode) {
+        return filter(subjects.get(), s -> courseCode != null && courseCode.equalsIgnoreCase(s.getCourseCode()));
+    }
+
+    public Optional<Subject> findSubject(String code) {
+        return Optional.ofNullable(code == null ? null : subjects.<String>index("code", ReferenceDataCache::bySubjectCode).get(upper(code)));
+    }
+
+    public List<SectionSummary> getSections() {
+        return sections.get();
+    }
+
+    public List<SectionSummary> getSectionsByCourse(String courseCode) {
+        return filter(sections.get(), s -> courseCode != null && courseCode.equalsIgnoreCase(s.getCourseCode()));
+    }
+
+    public List<FacultySummary> getFaculty() {
+        return faculty.get();
+    }
+
+    public List<Curriculum> getCurricula() {
+        return curricula.get();
+    }
+
+    public List<Curriculum> getCurriculaByCourse(String courseCode) {
+        return filter(curricula.get(), c -> courseCode != null && courseCode.equalsIgnoreCase(c.getCourseCode()));
+    }
+
+    public List<Curriculum> getCurricula(String courseCode, int yearLevel, String semester) {
+        return filter(curricula.get(), c -> courseCode != null && courseCode.equalsIgnoreCase(c.getCourseCode())
+            && c.getYearLevel() == yearLevel && semester != null && semester.equalsIgnoreCase(c.getSemester()));
+    }
+
+    public Optional<Curriculum> findCurriculum(Long id) {
+        return curricula.get().stream().filter(c -> c.getId() != null && c.getId().equals(id)).findFirst();
+    }
+
+    // --- Versions ---
+
+    // Strong ETag for the catalog's current version; read it before the data it describes
+    public String etag(Catalog catalog) {
+        Snapshot<?> snapshot = snapshot(catalog);
+        return "\"" + snapshot.name + "-" + epoch + "-" + snapshot.generation.get() + "\"";
+    }
+
+    private Snapshot<?> snapshot(Catalog catalog) {
+        return switch (catalog) {
+            case COURSES -> courses;
+            case SUBJECTS -> subjects;
+            case SECTIONS -> sections;
+            case FACULTY -> faculty;
+            case CURRICULA -> curricula;
+        };
+    }
+
+    // --- Invalidation (applied after the surrounding transaction commits) ---
+
+    public void invalidateCourses() {
+        TransactionCallbacks.afterCommit(courses::invalidate);
+    }
+
+    public void invalidateSubjects() {
+        TransactionCallbacks.afterCommit(subjects::invalidate);
+    }
+
+    public void invalidateSections() {
+        TransactionCallbacks.afterCommit(sections::invalidate);
+    }
+
+    public void invalidateFaculty() {
+        TransactionCallbacks.afterCommit(faculty::invalidate);
+    }
+
+    public void invalidateCurricula() {
+        TransactionCallbacks.afterCommit(curricula::invalidate);
+    }
+
+    public void invalidateAll() {
+        TransactionCallbacks.afterCommit(() -> List.of(courses, subjects, sections, faculty, curricula).forEach(Snapshot::invalidate));
+    }
+
+    // --- Loaders: copies are detached from any open persistence context ---
+
+    private List<Course> loadCourses() {
+        List<Course> rows = new ArrayList<>();
+        courseRepository.findAll().forEach(c -> rows.add(new Course(c.getCode(), c.getName())));
+        return rows;
+    }
+
+    private List<Subject> loadSubjects() {
+        List<Subject> rows = new ArrayList<>();
+        // lec/lab default to 0 for legacy rows
+        subjectRepository.findAll().forEach(s -> rows.add(new Subject(s.getCode(), s.getName(), s.getUnits(), s.getCourseCode(),
+            s.getDescription(), s.getLec() != null ? s.getLec() : 0, s.getLab() != null ? s.getLab() : 0)));
+        return rows;
+    }
+
+    // Two queries regardless of row count
+    private List<SectionSummary> loadSections() {
+        List<SectionSummary> rows = sectionRepository.findAllSummaries();
+        Map<String, SectionSummary> byId = new HashMap<>();
+        rows.forEach(s -> byId.put(s.getId(), s));
+        for (Object[] pair : sectionRepository.findAllSubjectCodePairs()) {
+            SectionSummary s = byId.get((String) pair[0]);
+            if (s != null) {
+                s.getSubjectCodes().add((String) pair[1]);
+            }
+        }
+        return rows;
+    }
+
+    private List<FacultySummary> loadFaculty() {
+        List<FacultySummary> rows = facultyRepository.findAllSummaries();
+        Map<String, FacultySummary> byId = new HashMap<>();
+        rows.forEach(f -> byId.put(f.getId(), f));
+        for (Object[] pair : facultyRepository.findAllAssignedSubjectPairs()) {
+            FacultySummary f = byId.get((String) pair[0]);
+            if (f != null) {
+                f.getAssignedSubjects().add((String) pair[1]);
+            }
+        }
+        return rows;
+    }
+
+    private List<Curriculum> loadCurricula() {
+        List<Curriculum> rows = new ArrayList<>();
+        curriculumRepository.findAll().forEach(c -> {
+            Curriculum copy = new Curriculum(c.getCourseCode(), c.getYearLevel(), c.getSemester(), c.getSubjectCodes(), c.getRequiredUnits());
+            copy.setId(c.getId());
+            rows.add(copy);
+        });
+        return rows;
+    }
+
+    // --- Helpers ---
+
+    private static <T> List<T> filter(List<T> rows, Predicate<T> keep) {
+        return rows.stream().filter(keep).toList();
+    }
+
+    private static Map<String, Course> byCode(List<Course> rows) {
+        Map<String, Course> index = new HashMap<>();
+        rows.forEach(c -> index.putIfAbsent(upper(c.getCode()), c));
+        return index;
+    }
+
+    private static Map<String, Course> byName(List<Course> rows) {
+        Map<String, Course> index = new HashMap<>();
+        rows.forEach(c -> index.putIfAbsent(upper(c.getName()), c));
+        return index;
+    }
+
+    private static Map<String, Subject> bySubjectCode(List<Subject> rows) {
+        Map<String, Subject> index = new HashMap<>();
+        rows.forEach(s -> index.putIfAbsent(upper(s.getCode()), s));
+        return index;
+    }
+
+    private static String upper(String value) {
+        return value == null ? null : value.trim().toUpperCase(Locale.ROOT);
+    }
+}
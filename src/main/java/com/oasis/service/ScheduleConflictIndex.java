@@ -0,0 +1,526 @@
+package com.oasis.service;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.oasis.model.FreeSlot;
+import com.oasis.model.KeyNormalizer;
+import com.oasis.model.ScheduleItem;
+import com.oasis.model.SectionScheduleItem;
+import com.oasis.repository.ScheduleItemRepository;
+import com.oasis.repository.SectionScheduleItemRepository;
+
+/**
+ * Per-term interval index over the timetable, keyed by faculty, room, student and section.
+ * Each owner/day keeps its classes sorted by start minute, so an overlap probe is a
+ * logarithmic seek plus a short backwards walk bounded by the longest class on that day.
+ * Day patterns such as "MWF" or "TTh" are expanded to weekdays, and each owner/weekday also keeps
+ * a fixed-granularity occupancy bitset used to find free common slots.
+ * Terms are loaded lazily from the database; writes are applied after their transaction commits.
+ */
+@Component
+public class ScheduleConflictIndex {
+
+    public enum Dimension {
+        FACULTY("Schedule conflict: Faculty is already assigned to another class at this day/time."),
+        ROOM("Schedule conflict: Room is already booked at this day/time."),
+        STUDENT("Schedule conflict: Student already has a class at this day/time."),
+        SECTION("Schedule conflict: Section already has a class at this day/time.");
+
+        private final String message;
+
+        Dimension(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    @Autowired
+    private ScheduleItemRepository scheduleItemRepository;
+
+    @Autowired
+    private SectionScheduleItemRepository sectionScheduleItemRepository;
+
+    // Occupancy bitset granularity
+    static final int SLOT_MINUTES = 15;
+    private static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private final Map<String, TermIndex> terms = new ConcurrentHashMap<>();
+
+    // --- Probes ---
+
+    /** Returns the conflict message for the candidate, or null when the slot is free. */
+    public String findConflict(Candidate candidate) {
+        if (!candidate.isCheckable()) {
+            return null;
+        }
+        return termFor(candidate.academicYear, candidate.semester).findConflict(candidate);
+    }
+
+    /**
+     * Checks a whole batch in one pass, against the index and against earlier batch entries.
+     * Returns one message per conflicting candidate (empty when the batch is clean).
+     */
+    public List<String> findConflicts(List<Candidate> batch) {
+        List<String> conflicts = new ArrayList<>();
+        Map<String, TermIndex> pending = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Candidate candidate = batch.get(i);
+            if (!candidate.isCheckable()) {
+                continue;
+            }
+            String message = findConflict(candidate);
+            TermIndex scratch = pending.computeIfAbsent(termKey(candidate.academicYear, candidate.semester), k -> new TermIndex());
+            if (message == null) {
+                message = scratch.findConflict(candidate);
+            }
+            if (message != null) {
+                conflicts.add("Item " + (i + 1) + ": " + message);
+            } else {
+                scratch.add(-(i + 1L), candidate.subjectCode, candidate.day, candidate.startTime, candidate.endTime, candidate.owners);
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Free windows of at least durationMinutes between from and to on each requested weekday,
+     * common to every given owner (faculty, room, section; blank owners are ignored).
+     */
+    public List<FreeSlot> findFreeSlots(String academicYear, String semester, Map<Dimension, String> owners,
+                                        String days, int durationMinutes, String from, String to) {
+        int fromSlot = Math.max(0, toMinutes(from) / SLOT_MINUTES);
+        int toSlot = Math.min(SLOTS_PER_DAY, toMinutes(to) / SLOT_MINUTES);
+        int needed = (durationMinutes + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        List<FreeSlot> free = new ArrayList<>();
+        if (academicYear == null || semester == null || needed <= 0 || fromSlot >= toSlot) {
+            return free;
+        }
+        TermIndex term = termFor(academicYear, semester);
+        for (String day : dayKeys(days)) {
+            BitSet busy = term.occupancy(owners, day);
+            int slot = busy.nextClearBit(fromSlot);
+            while (slot < toSlot) {
+                int runEnd = Math.min(busy.nextSetBit(slot) < 0 ? toSlot : busy.nextSetBit(slot), toSlot);
+                if (runEnd - slot >= needed) {
+                    free.add(new FreeSlot(displayDay(day), formatTime(slot * SLOT_MINUTES), formatTime(runEnd * SLOT_MINUTES)));
+                }
+                slot = busy.nextClearBit(runEnd);
+            }
+        }
+        return free;
+    }
+
+    // --- Maintenance (applied after commit when a transaction is active) ---
+
+    public void indexSchedule(ScheduleItem item) {
+        TransactionCallbacks.afterCommit(() -> {
+            TermIndex term = loadedTerm(item.getAcademicYear(), item.getSemester());
+            if (term != null) {
+                term.add(item);
+            }
+        });
+    }
+
+    public void indexSectionSchedule(SectionScheduleItem item) {
+        TransactionCallbacks.afterCommit(() -> {
+            TermIndex term = loadedTerm(item.getAcademicYear(), item.getSemester());
+            if (term != null) {
+                term.add(item);
+            }
+        });
+    }
+
+    public void remove(Long id) {
+        TransactionCallbacks.afterCommit(() -> terms.values().forEach(term -> term.remove(id)));
+    }
+
+    // Drops every loaded term; used after bulk deletes that do not name individual rows
+    public void reset() {
+        TransactionCallbacks.afterCommit(terms::clear);
+    }
+
+    private TermIndex loadedTerm(String academicYear, String semester) {
+        if (academicYear == null || semester == null) {
+            return null;
+        }
+        return terms.get(termKey(academicYear, semester));
+    }
+
+    private TermIndex termFor(String academicYear, String semester) {
+        return terms.computeIfAbsent(termKey(academicYear, semester), key -> {
+            TermIndex term = new TermIndex();
+            scheduleItemRepository.findByAcademicYearAndSemester(academicYear, semester).forEach(term::add);
+            sectionScheduleItemRepository.findByAcademicYearAndSemester(academicYear, semester).forEach(term::add);
+            return term;
+        });
+    }
+
+    private static String termKey(String academicYear, String semester) {
+        return KeyNormalizer.normalize(academicYear) + "|" + KeyNormalizer.normalize(semester);
+    }
+
+    private static String ownerKey(Dimension dimension, String owner) {
+        return dimension.name() + ":" + KeyNormalizer.normalize(owner);
+    }
+
+    /**
+     * Expands a day field ("Monday", "MWF", "TTh", "TThF", "Monday, Wednesday") into weekday keys.
+     * Values that cannot be read as weekdays are kept as a single literal key, so equal strings still clash.
+     */
+    static Set<String> dayKeys(String day) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (day == null || day.trim().isEmpty()) {
+            return keys;
+        }
+        for (String token : day.trim().split("[\\s,/]+")) {
+            if (!addDays(token, keys)) {
+                keys.clear();
+                keys.add(KeyNormalizer.normalize(day));
+                return keys;
+            }
+        }
+        return keys;
+    }
+
+    private static boolean addDays(String token, Set<String> keys) {
+        String upper = token.toUpperCase(Locale.ROOT);
+        for (DayOfWeek weekday : DayOfWeek.values()) {
+            if (upper.length() >= 3 && weekday.name().startsWith(upper)) {
+                keys.add(weekday.name());
+                return true;
+            }
+        }
+        // Letter codes: M T W Th F S/Sa Su
+        int i = 0;
+        while (i < token.length()) {
+            String rest = token.substring(i).toUpperCase(Locale.ROOT);
+            if (rest.startsWith("TH")) {
+                keys.add(DayOfWeek.THURSDAY.name());
+                i += 2;
+            } else if (rest.startsWith("SU")) {
+                keys.add(DayOfWeek.SUNDAY.name());
+                i += 2;
+            } else if (rest.startsWith("SA")) {
+                keys.add(DayOfWeek.SATURDAY.name());
+                i += 2;
+            } else {
+                switch (rest.charAt(0)) {
+                    case 'M' -> keys.add(DayOfWeek.MONDAY.name());
+                    case 'T' -> keys.add(DayOfWeek.TUESDAY.name());
+                    case 'W' -> keys.add(DayOfWeek.WEDNESDAY.name());
+                    case 'F' -> keys.add(DayOfWeek.FRIDAY.name());
+                    case 'S' -> keys.add(DayOfWeek.SATURDAY.name());
+                    default -> {
+                        return false;
+                    }
+                }
+                i++;
+            }
+        }
+        return true;
+    }
+
+    private static String displayDay(String dayKey) {
+        return dayKey.charAt(0) + dayKey.substring(1).toLowerCase(Locale.ROOT);
+    }
+
+    private static String formatTime(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+
+    // "HH:mm" -> minutes since midnight, or -1 when the value cannot be placed on the grid
+    static int toMinutes(String time) {
+        if (time == null) {
+            return -1;
+        }
+        String[] parts = time.trim().split(":");
+        if (parts.length < 2) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(parts[0]) * 60 + Integer.parseInt(parts[1].substring(0, Math.min(2, parts[1].length())));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * A slot to check, with the owners it would occupy.
+     */
+    public static final class Candidate {
+        private final String academicYear;
+        private final String semester;
+        private final String day;
+        private final String startTime;
+        private final String endTime;
+        private final String subjectCode;
+        private final Map<Dimension, Collection<String>> owners = new EnumMap<>(Dimension.class);
+        private Long excludeId;
+        private Dimension sharedSubjectDimension;
+
+        public Candidate(String academicYear, String semester, String day, String startTime, String endTime, String subjectCode) {
+            this.academicYear = academicYear;
+            this.semester = semester;
+            this.day = day;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.subjectCode = subjectCode;
+        }
+
+        // Per-student entry: faculty, room and the student's own classes
+        public static Candidate of(ScheduleItem item) {
+            Candidate candidate = new Candidate(item.getAcademicYear(), item.getSemester(), item.getDay(),
+                item.getStartTime(), item.getEndTime(), item.getSubjectCode());
+            candidate.owner(Dimension.FACULTY, item.getFaculty());
+            candidate.owner(Dimension.ROOM, item.getRoom());
+            candidate.owner(Dimension.STUDENT, item.getStudentId());
+            return candidate;
+        }
+
+        public Candidate owner(Dimension dimension, String owner) {
+            if (owner != null && !owner.trim().isEmpty()) {
+                owners.computeIfAbsent(dimension, d -> new ArrayList<>()).add(owner);
+            }
+            return this;
+        }
+
+        public Candidate owners(Dimension dimension, Collection<String> ownerIds) {
+            ownerIds.forEach(owner -> owner(dimension, owner));
+            return this;
+        }
+
+        // Ignores the row being updated
+        public Candidate excluding(Long id) {
+            this.excludeId = id;
+            return this;
+        }
+
+        // A student override replaces the section's entry for the same subject instead of clashing with it
+        public Candidate overridingSection(String sectionId) {
+            owner(Dimension.SECTION, sectionId);
+            this.sharedSubjectDimension = Dimension.SECTION;
+            return this;
+        }
+
+        // Section entry: faculty, room, the section itself and the overrides its students already carry
+        public static Candidate ofSection(String sectionId, Collection<String> studentIds, ScheduleItem details) {
+            Candidate candidate = new Candidate(details.getAcademicYear(), details.getSemester(), details.getDay(),
+                details.getStartTime(), details.getEndTime(), details.getSubjectCode());
+            candidate.owner(Dimension.FACULTY, details.getFaculty());
+            candidate.owner(Dimension.ROOM, details.getRoom());
+            candidate.owner(Dimension.SECTION, sectionId);
+            candidate.owners(Dimension.STUDENT, studentIds);
+            candidate.sharedSubjectDimension = Dimension.STUDENT;
+            return candidate;
+        }
+
+        private boolean isCheckable() {
+            return academicYear != null && semester != null && day != null
+                && toMinutes(startTime) >= 0 && toMinutes(endTime) > toMinutes(startTime);
+        }
+    }
+
+    private static final class Slot {
+        private final long id;
+        private final String subjectCode;
+        private final int start;
+        private final int end;
+
+        private Slot(long id, String subjectCode, int start, int end) {
+            this.id = id;
+            this.subjectCode = subjectCode;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    // Classes of one owner on one day, sorted by start minute
+    private static final class DaySlots {
+        private final NavigableMap<Integer, List<Slot>> byStart = new TreeMap<>();
+        private int maxLength;
+        // Rebuilt on demand after a change; a class partially covering a slot marks it busy
+        private BitSet occupancy;
+
+        void add(Slot slot) {
+            byStart.computeIfAbsent(slot.start, k -> new ArrayList<>()).add(slot);
+            maxLength = Math.max(maxLength, slot.end - slot.start);
+            occupancy = null;
+        }
+
+        BitSet occupancy() {
+            if (occupancy == null) {
+                occupancy = new BitSet(SLOTS_PER_DAY);
+                for (List<Slot> slots : byStart.values()) {
+                    for (Slot slot : slots) {
+                        occupancy.set(slot.start / SLOT_MINUTES,
+                            Math.min(SLOTS_PER_DAY, (slot.end + SLOT_MINUTES - 1) / SLOT_MINUTES));
+                    }
+                }
+            }
+            return occupancy;
+        }
+
+        void remove(long id, int start) {
+            List<Slot> slots = byStart.get(start);
+            if (slots != null) {
+                slots.removeIf(slot -> slot.id == id);
+                occupancy = null;
+                if (slots.isEmpty()) {
+                    byStart.remove(start);
+                }
+            }
+        }
+
+        Slot overlapping(int start, int end, Long excludeId, String ignoreSubject) {
+            // Only slots starting before our end, and no earlier than (our start - longest class), can overlap
+            for (Map.Entry<Integer, List<Slot>> entry : byStart.headMap(end, false).descendingMap().entrySet()) {
+                if (entry.getKey() <= start - maxLength) {
+                    break;
+                }
+                for (Slot slot : entry.getValue()) {
+                    if (slot.end > start
+                        && (excludeId == null || slot.id != excludeId)
+                        && (ignoreSubject == null || !ignoreSubject.equalsIgnoreCase(slot.subjectCode))) {
+                        return slot;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Placement {
+        private final String ownerKey;
+        private final String day;
+        private final int start;
+
+        private Placement(String ownerKey, String day, int start) {
+            this.ownerKey = ownerKey;
+            this.day = day;
+            this.start = start;
+        }
+    }
+
+    private static final class TermIndex {
+        private final Map<String, Map<String, DaySlots>> byOwner = new HashMap<>();
+        private final Map<Long, List<Placement>> placements = new HashMap<>();
+
+        synchronized void add(ScheduleItem item) {
+            Map<Dimension, Collection<String>> owners = new EnumMap<>(Dimension.class);
+            putOwner(owners, Dimension.FACULTY, item.getFaculty());
+            putOwner(owners, Dimension.ROOM, item.getRoom());
+            putOwner(owners, Dimension.STUDENT, item.getStudentId());
+            add(item.getId(), item.getSubjectCode(), item.getDay(), item.getStartTime(), item.getEndTime(), owners);
+        }
+
+        synchronized void add(SectionScheduleItem item) {
+            Map<Dimension, Collection<String>> owners = new EnumMap<>(Dimension.class);
+            putOwner(owners, Dimension.FACULTY, item.getFaculty());
+            putOwner(owners, Dimension.ROOM, item.getRoom());
+            putOwner(owners, Dimension.SECTION, item.getSectionId());
+            add(item.getId(), item.getSubjectCode(), item.getDay(), item.getStartTime(), item.getEndTime(), owners);
+        }
+
+        synchronized void add(Long id, String subjectCode, String day, String startTime, String endTime,
+                              Map<Dimension, Collection<String>> owners) {
+            int start = toMinutes(startTime);
+            int end = toMinutes(endTime);
+            if (id == null || day == null || start < 0 || end <= start) {
+                return;
+            }
+            remove(id);
+            Set<String> dayKeys = dayKeys(day);
+            List<Placement> placed = new ArrayList<>();
+            Slot slot = new Slot(id, subjectCode, start, end);
+            owners.forEach((dimension, ownerIds) -> {
+                for (String owner : ownerIds) {
+                    String key = ownerKey(dimension, owner);
+                    Map<String, DaySlots> days = byOwner.computeIfAbsent(key, k -> new HashMap<>());
+                    for (String dayKey : dayKeys) {
+                        days.computeIfAbsent(dayKey, k -> new DaySlots()).add(slot);
+                        placed.add(new Placement(key, dayKey, start));
+                    }
+                }
+            });
+            placements.put(id, placed);
+        }
+
+        synchronized void remove(Long id) {
+            List<Placement> placed = placements.remove(id);
+            if (placed == null) {
+                return;
+            }
+            for (Placement placement : placed) {
+                Map<String, DaySlots> days = byOwner.get(placement.ownerKey);
+                DaySlots slots = days != null ? days.get(placement.day) : null;
+                if (slots != null) {
+                    slots.remove(id, placement.start);
+                }
+            }
+        }
+
+        synchronized String findConflict(Candidate candidate) {
+            int start = toMinutes(candidate.startTime);
+            int end = toMinutes(candidate.endTime);
+            Set<String> dayKeys = dayKeys(candidate.day);
+            for (Map.Entry<Dimension, Collection<String>> entry : candidate.owners.entrySet()) {
+                Dimension dimension = entry.getKey();
+                String ignoreSubject = dimension == candidate.sharedSubjectDimension ? candidate.subjectCode : null;
+                for (String owner : entry.getValue()) {
+                    Map<String, DaySlots> days = byOwner.get(ownerKey(dimension, owner));
+                    if (days == null) {
+                        continue;
+                    }
+                    for (String dayKey : dayKeys) {
+                        DaySlots slots = days.get(dayKey);
+                        if (slots != null && slots.overlapping(start, end, candidate.excludeId, ignoreSubject) != null) {
+                            return dimension.getMessage();
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+
+        // Union of the owners' busy slots on one weekday
+        synchronized BitSet occupancy(Map<Dimension, String> owners, String dayKey) {
+            BitSet busy = new BitSet(SLOTS_PER_DAY);
+            owners.forEach((dimension, owner) -> {
+                if (owner == null || owner.trim().isEmpty()) {
+                    return;
+                }
+                Map<String, DaySlots> days = byOwner.get(ownerKey(dimension, owner));
+                DaySlots slots = days != null ? days.get(dayKey) : null;
+                if (slots != null) {
+                    busy.or(slots.occupancy());
+                }
+            });
+            return busy;
+        }
+
+        private static void putOwner(Map<Dimension, Collection<String>> owners, Dimension dimension, String owner) {
+            if (owner != null && !owner.trim().isEmpty()) {
+                owners.computeIfAbsent(dimension, d -> new ArrayList<>()).add(owner);
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.oasis.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.oasis.model.KeyNormalizer;
+import com.oasis.model.SeatAvailability;
+
+/**
+ * Section seats (sections.current_enrollment against max_capacity).
+ * A seat is held by each student whose user row points at the section. Reservations are taken
+ * from an in-memory counter per section first and then made durable with a conditional UPDATE
+ * that can never push a section past its capacity. Counters only see this node's changes, so a
+ * failed UPDATE or a counter that says full is re-read from the database once before refusing.
+ * A rolled-back reservation hands its seats back to the counter; releases reach the counter after
+ * commit. A null capacity means the section is unlimited.
+ */
+@Service
+public class SeatReservationService {
+
+    private static final String TAKE_SEATS =
+        "UPDATE sections SET current_enrollment = COALESCE(current_enrollment, 0) + ?" +
+        " WHERE id = ? AND (max_capacity IS NULL OR COALESCE(current_enrollment, 0) + ? <= max_capacity)";
+
+    private static final String RELEASE_SEATS =
+        "UPDATE sections SET current_enrollment = GREATEST(COALESCE(current_enrollment, 0) - ?, 0) WHERE id = ?";
+
+    private static final String SELECT_SEATS = "SELECT id, max_capacity, current_enrollment FROM sections";
+
+    private static final RowMapper<SeatCounter> SEAT_ROW = (rs, rowNum) ->
+        new SeatCounter(rs.getString("id"), rs.getObject("max_capacity", Integer.class), rs.getInt("current_enrollment"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    private final Map<String, SeatCounter> counters = new ConcurrentHashMap<>();
+
+    // Whether every section has a counter; dropping any counter clears it
+    private volatile boolean allLoaded;
+
+    /**
+     * Seats taken and capacity of one section, as last read from the database plus the changes
+     * made through this service since.
+     */
+    private static final class SeatCounter {
+        private final String sectionId;
+        private final Integer capacity;
+        private final AtomicInteger taken;
+
+        private SeatCounter(String sectionId, Integer capacity, int taken) {
+            this.sectionId = sectionId;
+            this.capacity = capacity;
+            this.taken = new AtomicInteger(taken);
+        }
+
+        // Takes up to seats; returns how many were free
+        int take(int seats) {
+            while (true) {
+                int current = taken.get();
+                int granted = capacity == null ? seats : Math.min(seats, capacity - current);
+                if (granted <= 0) {
+                    return 0;
+                }
+                if (taken.compareAndSet(current, current + granted)) {
+                    return granted;
+                }
+            }
+        }
+
+        void giveBack(int seats) {
+            taken.updateAndGet(current -> Math.max(current - seats, 0));
+        }
+
+        SeatAvailability view() {
+            int current = taken.get();
+            return new SeatAvailability(sectionId, capacity, current,
+                capacity == null ? null : Math.max(capacity - current, 0));
+        }
+    }
+
+    // --- Reservations (join the caller's transaction) ---
+
+    // True when the student got a seat; false when the section is full
+    public boolean reserve(String sectionId) {
+        return reserve(sectionId, 1) == 1;
+    }
+
+    /**
+     * Reserves up to seats in the section and returns how many were granted (0 when full).
+     * Throws IllegalArgumentException for an unknown section.
+     */
+    public int reserve(String sectionId, int seats) {
+        if (seats <= 0) {
+            return 0;
+        }
+        // Second pass only when the counter may be stale: seats taken by another node (the UPDATE
+        // fails) or freed by another node (the counter says full), so it is re-read once either way
+        for (int attempt = 0; attempt < 2; attempt++) {
+            SeatCounter counter = counterFor(sectionId);
+            if (counter == null) {
+                throw new IllegalArgumentException("Section not found: " + sectionId);
+            }
+            int granted = counter.take(seats);
+            if (granted > 0 && jdbcTemplate.update(TAKE_SEATS, granted, counter.sectionId, granted) == 1) {
+                afterCompletion(counter, granted);
+                referenceDataCache.invalidateSections();
+                return granted;
+            }
+            if (granted > 0) {
+                counter.giveBack(granted);
+            }
+            dropCounter(KeyNormalizer.normalize(sectionId), counter);
+        }
+        return 0;
+    }
+
+    public void release(String sectionId) {
+        release(sectionId, 1);
+    }
+
+    public void release(String sectionId, int seats) {
+        if (sectionId == null || sectionId.isEmpty() || seats <= 0) {
+            return;
+        }
+        jdbcTemplate.update(RELEASE_SEATS, seats, sectionId);
+        TransactionCallbacks.afterCommit(() -> {
+            SeatCounter counter = counters.get(KeyNormalizer.normalize(sectionId));
+            if (counter != null) {
+                counter.giveBack(seats);
+            }
+        });
+        referenceDataCache.invalidateSections();
+    }
+
+    // Moves a student's seat; a blank target only releases. Returns false (and changes nothing) when the target is full.
+    public boolean move(String fromSection, String toSection) {
+        boolean sameSection = fromSection != null && toSection != null
+            && KeyNormalizer.normalize(fromSection).equals(KeyNormalizer.normalize(toSection));
+        if (sameSection) {
+            return true;
+        }
+        if (toSection != null && !toSection.isEmpty() && !reserve(toSection)) {
+            return false;
+        }
+        release(fromSection);
+        return true;
+    }
+
+    // --- Availability (served from the counters) ---
+
+    public SeatAvailability getAvailability(String sectionId) {
+        SeatCounter counter = counterFor(sectionId);
+        return counter != null ? counter.view() : null;
+    }
+
+    public List<SeatAvailability> getAvailability() {
+        if (!allLoaded) {
+            jdbcTemplate.query(SELECT_SEATS, SEAT_ROW)
+                .forEach(counter -> counters.putIfAbsent(KeyNormalizer.normalize(counter.sectionId), counter));
+            allLoaded = true;
+        }
+        List<SeatAvailability> all = new ArrayList<>();
+        counters.values().forEach(counter -> all.add(counter.view()));
+        all.sort((a, b) -> a.getSectionId().compareToIgnoreCase(b.getSectionId()));
+        return all;
+    }
+
+    // Capacity or membership changed outside the reservation paths (section edit, delete)
+    public void refresh(String sectionId) {
+        if (sectionId != null) {
+            TransactionCallbacks.afterCommit(() -> dropCounter(KeyNormalizer.normalize(sectionId), null));
+        }
+    }
+
+    /**
+     * Consistency rebuild: sets every section's current_enrollment to the number of students
+     * assigned to it and drops the counters.
+     */
+    @Transactional
+    public int rebuild() {
+        int rows = jdbcTemplate.update(
+            "UPDATE sections s SET s.current_enrollment =" +
+            " (SELECT COUNT(*) FROM users u WHERE u.role = 'student' AND u.section = s.id)");
+        TransactionCallbacks.afterCommit(() -> {
+            allLoaded = false;
+            counters.clear();
+        });
+        referenceDataCache.invalidateSections();
+        System.out.println("Rebuilt seat counts for " + rows + " sections");
+        return rows;
+    }
+
+    // --- Helpers ---
+
+    private SeatCounter counterFor(String sectionId) {
+        if (sectionId == null || sectionId.isEmpty()) {
+            return null;
+        }
+        String key = KeyNormalizer.normalize(sectionId);
+        SeatCounter counter = counters.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        List<SeatCounter> rows = jdbcTemplate.query(SELECT_SEATS + " WHERE id = ?", SEAT_ROW, sectionId);
+        return rows.isEmpty() ? null : counters.computeIfAbsent(key, k -> rows.get(0));
+    }
+
+    // Drops the section's counter (only if it is still the given one, when given) so it is re-read
+    private void dropCounter(String key, SeatCounter expected) {
+        allLoaded = false;
+        if (expected != null) {
+            counters.remove(key, expected);
+        } else {
+            counters.remove(key);
+        }
+    }
+
+    // Reserved seats go back to the counter if the surrounding transaction rolls back
+    private void afterCompletion(SeatCounter counter, int seats) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        counter.giveBack(seats);
+                    }
+                }
+            });
+        }
+    }
+}
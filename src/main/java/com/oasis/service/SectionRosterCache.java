@@ -0,0 +1,72 @@
+package com.oasis.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.oasis.model.KeyNormalizer;
+import com.oasis.repository.UserRepository;
+
+/**
+ * In-memory section -> student ID roster.
+ * A section is loaded from the (role, section) index on first use and then kept current
+ * by the user create/update/delete paths in AuthService. Changes are applied after commit,
+ * so a rolled-back transaction leaves the roster as it was.
+ */
+@Component
+public class SectionRosterCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<String, Set<String>> rosters = new ConcurrentHashMap<>();
+
+    public List<String> getStudentIds(String sectionId) {
+        if (sectionId == null || sectionId.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(rosterFor(sectionId));
+    }
+
+    // Moves a student between sections; either side may be null
+    public void moveStudent(String studentId, String fromSection, String toSection) {
+        TransactionCallbacks.afterCommit(() -> applyMove(studentId, fromSection, toSection));
+    }
+
+    private void applyMove(String studentId, String fromSection, String toSection) {
+        if (fromSection != null && !fromSection.isEmpty()) {
+            Set<String> roster = rosters.get(KeyNormalizer.normalize(fromSection));
+            if (roster != null) {
+                roster.remove(studentId);
+            }
+        }
+        if (toSection != null && !toSection.isEmpty()) {
+            Set<String> roster = rosters.get(KeyNormalizer.normalize(toSection));
+            // Unloaded sections pick the student up from the database on first use
+            if (roster != null) {
+                roster.add(studentId);
+            }
+        }
+    }
+
+    public void removeStudent(String studentId, String section) {
+        moveStudent(studentId, section, null);
+    }
+
+    public void clear() {
+        rosters.clear();
+    }
+
+    private Set<String> rosterFor(String sectionId) {
+        return rosters.computeIfAbsent(KeyNormalizer.normalize(sectionId), key -> {
+            Set<String> roster = ConcurrentHashMap.newKeySet();
+            roster.addAll(userRepository.findIdsByRoleAndSection("student", sectionId));
+            return roster;
+        });
+    }
+}
@@ -0,0 +1,85 @@
+package com.oasis.service;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Set;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every public method of AuthService, GradeService and StudentService as
+ * {@code oasis.service.invocations{service, method, outcome, exception}}. The timer wraps the
+ * transaction, so commit time counts. Calls a service makes to its own methods are not timed.
+ * Repository calls are timed by Spring Boot as spring.data.repository.invocations and requests as
+ * http.server.requests; with these, a slow endpoint can be split into controller, service and
+ * repository time. Histograms are switched on in application.properties.
+ */
+@Component
+public class ServiceTimers extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String METRIC = "oasis.service.invocations";
+
+    private static final Set<Class<?>> TIMED = Set.of(AuthService.class, GradeService.class, StudentService.class);
+
+    // Looked up on first use: post-processors are created before the registry
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private volatile MeterRegistry meterRegistry;
+
+    public ServiceTimers(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+        this.advisor = new DefaultPointcutAdvisor(new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return TIMED.contains(ClassUtils.getUserClass(targetClass))
+                    && Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+            }
+        }, (MethodInterceptor) this::time);
+        // Outside the transaction advice, and a class proxy since the services have no interfaces
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+
+    private Object time(MethodInvocation invocation) throws Throwable {
+        Timer.Sample sample = Timer.start();
+        String outcome = "SUCCESS";
+        String exception = "none";
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            outcome = "ERROR";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Class<?> service = ClassUtils.getUserClass(invocation.getThis() != null
+                ? invocation.getThis().getClass() : invocation.getMethod().getDeclaringClass());
+            sample.stop(Timer.builder(METRIC)
+                .description("Service method execution time")
+                .tag("service", service.getSimpleName())
+                .tag("method", invocation.getMethod().getName())
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(registry()));
+        }
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            registry = meterRegistryProvider.getObject();
+            meterRegistry = registry;
+        }
+        return registry;
+    }
+}
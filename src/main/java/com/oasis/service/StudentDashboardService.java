@@ -0,0 +1,95 @@
+package com.oasis.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.oasis.model.EnrollmentRequest;
+import com.oasis.model.KeyNormalizer;
+import com.oasis.model.KeysetPage;
+import com.oasis.model.Message;
+import com.oasis.model.ScheduleItem;
+import com.oasis.model.StudentAccount;
+import com.oasis.model.StudentDashboard;
+import com.oasis.model.StudentForm;
+import com.oasis.model.StudentGrade;
+import com.oasis.model.UserSummary;
+import com.oasis.repository.EnrollmentRequestRepository;
+import com.oasis.repository.ScheduleItemRepository;
+import com.oasis.repository.StudentAccountRepository;
+import com.oasis.repository.StudentFormRepository;
+import com.oasis.repository.StudentGradeRepository;
+import com.oasis.repository.UserRepository;
+
+/**
+ * Builds the student portal's load-time document. All reads run one after another in a single
+ * read-only transaction, so a portal load checks out one pooled connection instead of one per query
+ * and never queues behind other requests on a shared executor. An unknown student stops after the
+ * user lookup; the user's current term is used when none is given.
+ */
+@Service
+public class StudentDashboardService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentAccountRepository studentAccountRepository;
+
+    @Autowired
+    private ScheduleItemRepository scheduleItemRepository;
+
+    @Autowired
+    private StudentGradeRepository studentGradeRepository;
+
+    @Autowired
+    private InboxService inboxService;
+
+    @Autowired
+    private StudentFormRepository studentFormRepository;
+
+    @Autowired
+    private EnrollmentRequestRepository enrollmentRequestRepository;
+
+    @Autowired
+    private GpaAggregateService gpaAggregateService;
+
+    @Autowired
+    private PaymentLedgerService paymentLedgerService;
+
+    @Transactional(readOnly = true)
+    public Optional<StudentDashboard> getDashboard(String studentId, String academicYear, String semester) {
+        String studentKey = KeyNormalizer.normalize(studentId);
+        Optional<UserSummary> found = userRepository.findSummariesByIdIn(List.of(studentId)).stream().findFirst();
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        boolean termGiven = !isBlank(academicYear) && !isBlank(semester);
+        String year = termGiven ? academicYear : found.get().getCurrentSY();
+        String sem = termGiven ? semester : found.get().getCurrentSem();
+
+        StudentDashboard dashboard = new StudentDashboard(found.get(), year, sem);
+        dashboard.setAccount(studentAccountRepository.findByStudentIdIgnoreCase(studentId)
+            .map(paymentLedgerService::attachPayments).orElse(null));
+        dashboard.setSchedule(scheduleItemRepository.findMergedForStudent(studentKey, blankToNull(year), blankToNull(sem)));
+        dashboard.setGrades(studentGradeRepository.findByStudentKey(studentKey));
+        dashboard.setTermGPA(isBlank(year) || isBlank(sem) ? null : gpaAggregateService.termGpa(studentId, sem, year));
+        dashboard.setCumulativeGPA(gpaAggregateService.cumulativeGpa(studentId));
+        dashboard.setInbox(inboxService.getPage(studentId, null, null));
+        dashboard.setUnreadCount(inboxService.unreadCount(studentId));
+        dashboard.setForms(studentFormRepository.findByStudentKeyOrderByRequestDateDesc(studentKey));
+        dashboard.setEnrollmentRequests(enrollmentRequestRepository.findByStudentKey(studentKey));
+        return Optional.of(dashboard);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String blankToNull(String value) {
+        return isBlank(value) ? null : value;
+    }
+}
@@ -0,0 +1,77 @@
+package com.oasis.service;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hands out student ids of the form YYYY-NNNNN-OA-0 from a per-year sequence row in
+ * student_number_sequences. Each node reserves BLOCK_SIZE numbers in one short transaction and
+ * then serves them from memory, so ids are unique across nodes and the database is touched
+ * once per block. Numbers left in a block when the node stops are skipped, not reused.
+ */
+@Component
+public class StudentNumberAllocator {
+
+    static final int BLOCK_SIZE = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate reserveTransaction;
+
+    // Per admission year: [next number to hand out, end of reserved block (exclusive)]
+    private final Map<Integer, long[]> blocks = new HashMap<>();
+
+    public StudentNumberAllocator(PlatformTransactionManager transactionManager) {
+        // Reserve in a transaction of its own, so the row lock is released before registration continues
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String nextStudentId() {
+        int year = LocalDate.now().getYear();
+        return String.format("%d-%05d-OA-0", year, nextNumber(year));
+    }
+
+    private synchronized long nextNumber(int year) {
+        long[] block = blocks.get(year);
+        if (block == null || block[0] >= block[1]) {
+            long start = reserveBlock(year);
+            block = new long[] {start, start + BLOCK_SIZE};
+            blocks.put(year, block);
+        }
+        return block[0]++;
+    }
+
+    private long reserveBlock(int year) {
+        return reserveTransaction.execute(status -> {
+            // Seed a missing year before the locking read: a FOR UPDATE on an absent row takes a gap
+            // lock, and two nodes doing that for a new year would deadlock on the insert that follows
+            List<Long> seeded = jdbcTemplate.queryForList(
+                "SELECT next_val FROM student_number_sequences WHERE sequence_year = ?", Long.class, year);
+            if (seeded.isEmpty()) {
+                // First use of a year starts after any ids already registered for it (seeded or typed in)
+                Long maxExisting = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(CAST(SUBSTRING(id, 6, 5) AS UNSIGNED)), 0) FROM users WHERE id LIKE ?",
+                    Long.class, year + "-_____-OA-0");
+                jdbcTemplate.update("INSERT IGNORE INTO student_number_sequences (sequence_year, next_val) VALUES (?, ?)",
+                    year, maxExisting + 1);
+            }
+            List<Long> current = jdbcTemplate.queryForList(
+                "SELECT next_val FROM student_number_sequences WHERE sequence_year = ? FOR UPDATE", Long.class, year);
+            long start = current.get(0);
+            jdbcTemplate.update("UPDATE student_number_sequences SET next_val = next_val + ? WHERE sequence_year = ?",
+                BLOCK_SIZE, year);
+            return start;
+        });
+    }
+}
@@ -5,8 +5,10 @@ import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.oasis.model.EnrollmentRequest;
+import com.oasis.model.KeyNormalizer;
 import com.oasis.model.Message;
 import com.oasis.model.StudentAccount;
 import com.oasis.model.StudentEnrollment;
@@ -47,6 +49,15 @@ public class StudentService {
 
     @Autowired
     private GradeService gradeService;
+    
+    @Autowired
+    private GpaAggregateService gpaAggregateService;
+
+    @Autowired
+    private NotificationHub notificationHub;
+
+    @Autowired
+    private PaymentLedgerService paymentLedgerService;
 
     public Optional<StudentEnrollment> getStudentEnrollmentDetails(String studentId) {
         return studentEnrollmentRepository.findByStudentIdIgnoreCase(studentId);
@@ -56,10 +67,11 @@ public class StudentService {
         if (request.getStatus() == null) request.setStatus("pending");
         if (request.getRequestDate() == null) request.setRequestDate(java.time.LocalDate.now());
         enrollmentRequestRepository.save(request);
+        notificationHub.toAdmins(NotificationHub.ENROLLMENT);
     }
 
     public Optional<StudentAccount> getStudentAccountDetails(String studentId) {
-        return studentAccountRepository.findByStudentIdIgnoreCase(studentId);
+        return studentAccountRepository.findByStudentIdIgnoreCase(studentId).map(paymentLedgerService::attachPayments);
     }
 
     public Optional<StudentSchedule> getStudentSchedule(String studentId) {
@@ -67,15 +79,15 @@ public class StudentService {
     }
 
     public Optional<List<StudentGrade>> getStudentGrades(String studentId) {
-        return Optional.of(studentGradeRepository.findByStudentIdIgnoreCase(studentId));
+        return Optional.of(studentGradeRepository.findByStudentKey(KeyNormalizer.normalize(studentId)));
     }
 
     public Optional<List<Message>> getStudentInbox(String studentId) {
-        return Optional.of(messageRepository.findByStudentIdIgnoreCaseOrderByTimestampDesc(studentId));
+        return Optional.of(messageRepository.findByStudentKeyOrderByTimestampDesc(KeyNormalizer.normalize(studentId)));
     }
 
     public Optional<List<StudentForm>> getStudentForms(String studentId) {
-        return Optional.of(studentFormRepository.findByStudentIdIgnoreCaseOrderByRequestDateDesc(studentId));
+        return Optional.of(studentFormRepository.findByStudentKeyOrderByRequestDateDesc(KeyNormalizer.normalize(studentId)));
     }
 
     public void updateStudentAccount(StudentAccount studentAccount) {
@@ -86,13 +98,16 @@ public class StudentService {
         studentScheduleRepository.save(studentSchedule);
     }
 
+    // One transaction, so the GPA aggregate cannot fall out of step with the saved grade
+    @Transactional
     public void updateStudentGrade(String studentId, StudentGrade studentGrade) {
-        studentGradeRepository.save(studentGrade);
+        GpaAggregateService.Contribution before = gpaAggregateService.stored(studentGrade.getId());
+        gpaAggregateService.apply(before, studentGradeRepository.save(studentGrade));
     }
 
     public void encodeGrade(StudentGrade grade) {
         // Check if a grade already exists for this student, subject, and term
-        List<StudentGrade> existingGrades = studentGradeRepository.findByStudentIdIgnoreCase(grade.getStudentId());
+        List<StudentGrade> existingGrades = studentGradeRepository.findByStudentKey(KeyNormalizer.normalize(grade.getStudentId()));
         boolean gradeExists = existingGrades.stream()
             .anyMatch(existing -> existing.getSubjectCode().equalsIgnoreCase(grade.getSubjectCode()) &&
                                 existing.getSemester().equalsIgnoreCase(grade.getSemester()) &&
@@ -124,6 +139,6 @@ public class StudentService {
     }
 
     public List<EnrollmentRequest> getEnrollmentRequestsByStudentId(String studentId) {
-        return enrollmentRequestRepository.findByStudentIdIgnoreCase(studentId);
+        return enrollmentRequestRepository.findByStudentKey(KeyNormalizer.normalize(studentId));
     }
 }
@@ -0,0 +1,26 @@
+package com.oasis.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects (cache updates, notifications) until the surrounding transaction
+ * commits, so a rollback never leaves them applied. Without an active transaction the action runs at once.
+ */
+final class TransactionCallbacks {
+
+    private TransactionCallbacks() {}
+
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
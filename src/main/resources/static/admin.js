@@ -151,7 +151,7 @@ async function loadCourses() {
     
     try {
         updateManageSchedulesState({ isLoading: true, error: null });
-        const response = await fetch('/api/auth/courses');
+        const response = await catalogFetch('/api/auth/courses');
         if (!response.ok) throw new Error('Failed to load courses');
         
         const courses = await response.json();
@@ -174,7 +174,7 @@ async function loadSectionsForCourse(courseCode) {
     try {
         updateManageSchedulesState({ isLoading: true, error: null });
         const url = courseCode ? `/api/auth/sections?courseCode=${encodeURIComponent(courseCode)}` : '/api/auth/sections';
-        const response = await fetch(url);
+        const response = await catalogFetch(url);
         if (!response.ok) throw new Error('Failed to load sections');
         
         const sections = await response.json();
@@ -741,7 +741,7 @@ async function populateScheduleDropdownsForStudent(studentId) {
     const subjectSelect = document.getElementById('scheduleSubjectCodeModal');
     if (subjectSelect) {
         try {
-            const response = await fetch('/api/auth/subjects');
+            const response = await catalogFetch('/api/auth/subjects');
             if (response.ok) {
                 const subjects = await response.json();
                 subjectSelect.innerHTML = '<option value="">-- Select Subject --</option>';
@@ -763,7 +763,7 @@ async function populateScheduleDropdownsForStudent(studentId) {
     const facultySelect = document.getElementById('scheduleFacultyModal');
     if (facultySelect) {
         try {
-            const response = await fetch('/api/auth/faculty');
+            const response = await catalogFetch('/api/auth/faculty');
             if (response.ok) {
                 const faculty = await response.json();
                 facultySelect.innerHTML = '<option value="">-- Select Faculty --</option>';
@@ -973,7 +973,7 @@ document.addEventListener('DOMContentLoaded', () => {
             }
 
             // Get total courses
-            const coursesResponse = await fetch('/api/auth/courses');
+            const coursesResponse = await catalogFetch('/api/auth/courses');
             let totalCourses = 0;
             if (coursesResponse.ok) {
                 const courses = await coursesResponse.json();
@@ -1021,7 +1021,7 @@ document.addEventListener('DOMContentLoaded', () => {
                 document.getElementById('gradeEntrySection').style.display = 'none';
                 if (!courseCode) return;
                 try {
-                    const response = await fetch(`/api/auth/sections?courseCode=${encodeURIComponent(courseCode)}`);
+                    const response = await catalogFetch(`/api/auth/sections?courseCode=${encodeURIComponent(courseCode)}`);
                     if (response.ok) {
                         const sections = await response.json();
                         sections.forEach(section => {
@@ -1048,7 +1048,7 @@ document.addEventListener('DOMContentLoaded', () => {
                 if (!sectionId) return;
                 // Get year level from section (if available)
                 try {
-                    const response = await fetch(`/api/auth/sections?courseCode=${encodeURIComponent(courseSelect.value)}`);
+                    const response = await catalogFetch(`/api/auth/sections?courseCode=${encodeURIComponent(courseSelect.value)}`);
                     if (response.ok) {
                         const sections = await response.json();
                         const selectedSection = sections.find(s => s.id === sectionId);
@@ -1089,7 +1089,7 @@ document.addEventListener('DOMContentLoaded', () => {
                 if (!courseCode || !yearLevel) return;
                 // Get semesters from curriculum for this course/year
                 try {
-                    const response = await fetch(`/api/curriculum/by-course?courseCode=${encodeURIComponent(courseCode)}`);
+                    const response = await catalogFetch(`/api/curriculum/by-course?courseCode=${encodeURIComponent(courseCode)}`);
                     if (response.ok) {
                         const curricula = await response.json();
                         const semesters = [...new Set(curricula.filter(c => c.yearLevel == yearLevel).map(c => c.semester))];
@@ -1115,14 +1115,14 @@ document.addEventListener('DOMContentLoaded', () => {
                 if (!courseCode || !yearLevel || !semester) return;
                 // Get curriculum for this course/year/semester
                 try {
-                    const response = await fetch(`/api/curriculum/by-course-year-sem?courseCode=${encodeURIComponent(courseCode)}&yearLevel=${encodeURIComponent(yearLevel)}&semester=${encodeURIComponent(semester)}`);
+                    const response = await catalogFetch(`/api/curriculum/by-course-year-sem?courseCode=${encodeURIComponent(courseCode)}&yearLevel=${encodeURIComponent(yearLevel)}&semester=${encodeURIComponent(semester)}`);
                     if (response.ok) {
                         const curricula = await response.json();
                         if (curricula.length > 0) {
                             const subjectCodes = curricula[0].subjectCodes.split(',');
                             // Fetch subject details for each code
                             for (const code of subjectCodes) {
-                                const subjRes = await fetch(`/api/auth/subjects`);
+                                const subjRes = await catalogFetch(`/api/auth/subjects`);
                                 if (subjRes.ok) {
                                     const allSubjects = await subjRes.json();
                                     const subject = allSubjects.find(s => s.code === code);
@@ -1257,7 +1257,7 @@ document.addEventListener('DOMContentLoaded', () => {
                             // Fetch all subjects for lookup if needed
                             let allSubjects = [];
                             try {
-                                const subjRes = await fetch('/api/auth/subjects');
+                                const subjRes = await catalogFetch('/api/auth/subjects');
                                 if (subjRes.ok) allSubjects = await subjRes.json();
                             } catch {}
                             const modal = document.getElementById('releasedGradesModal');
@@ -1394,7 +1394,15 @@ document.addEventListener('DOMContentLoaded', () => {
                 })
             });
             if (response.ok) {
-                alert('Grades saved successfully!');
+                const result = await response.json();
+                if (result.rejected > 0) {
+                    const problems = result.rows
+                        .filter(row => row.status === 'REJECTED')
+                        .map(row => (row.studentId || 'Row ' + (row.index + 1)) + ': ' + row.message);
+                    alert('Saved ' + result.saved + ' grades. ' + result.rejected + ' rejected:\n' + problems.join('\n'));
+                } else {
+                    alert('Grades saved successfully!');
+                }
                 await loadGradeEntryTable(sectionId, subjectCode, academicYear.replace('Year ', ''), semester);
                     } else {
                 const error = await response.text();
@@ -1472,7 +1480,7 @@ document.addEventListener('DOMContentLoaded', () => {
             // Fallback to auth subjects endpoint if the student endpoint fails
             if (!response.ok) {
                 console.log('Trying fallback endpoint...');
-                response = await fetch('/api/auth/subjects');
+                response = await catalogFetch('/api/auth/subjects');
                 console.log('Fallback response status:', response.status);
             }
             
@@ -1816,14 +1824,19 @@ document.addEventListener('DOMContentLoaded', () => {
             // Set up course filter for students
             await setupStudentsCourseFilter();
             
-            // Set up auto-refresh for enrollment requests
-            setInterval(async () => {
+            // Live updates for enrollment requests: the server pushes an event when one is submitted or processed
+            const adminEvents = new EventSource('/api/auth/events');
+            adminEvents.addEventListener('enrollment', async () => {
                 const enrollmentSection = document.getElementById('enrollmentRequests');
                 if (enrollmentSection && enrollmentSection.classList.contains('active')) {
                     await loadEnrollmentRequestsTable();
+                }
+                const dashboardSection = document.getElementById('dashboardHome');
+                if (dashboardSection && dashboardSection.classList.contains('active')) {
                     await updateDashboardStats();
                 }
-            }, 30000); // Refresh every 30 seconds
+            });
+            window.addEventListener('beforeunload', () => adminEvents.close());
             
             console.log('Admin dashboard initialized successfully');
         } catch (error) {
@@ -1989,7 +2002,7 @@ document.addEventListener('DOMContentLoaded', () => {
         document.getElementById('studentIdModal').readOnly = true;
         studentForm.studentNameModal.value = student.name;
         // One-time fix: if course is a name, convert to code
-        fetch('/api/auth/courses').then(r => r.json()).then(courses => {
+        catalogFetch('/api/auth/courses').then(r => r.json()).then(courses => {
             let courseCode = student.course || student.preferredCourseCode || '';
             if (courseCode && !courses.some(c => c.code === courseCode)) {
                 const match = courses.find(c => c.name === courseCode);
@@ -2120,7 +2133,7 @@ document.addEventListener('DOMContentLoaded', () => {
     async function loadCoursesTable() {
         let courses = [];
         try {
-            const response = await fetch('/api/auth/courses');
+            const response = await catalogFetch('/api/auth/courses');
             if (response.ok) {
                 courses = await response.json();
             }
@@ -2232,7 +2245,7 @@ document.addEventListener('DOMContentLoaded', () => {
     async function loadSectionsTable() {
         let sections = [];
         try {
-            const response = await fetch('/api/auth/sections');
+            const response = await catalogFetch('/api/auth/sections');
             if (response.ok) {
                 sections = await response.json();
             }
@@ -2378,7 +2391,7 @@ document.addEventListener('DOMContentLoaded', () => {
             document.getElementById('sectionNameModal').value = sectionName;
             // Generate section ID
             try {
-                const response = await fetch('/api/auth/sections');
+                const response = await catalogFetch('/api/auth/sections');
                 if (response.ok) {
                     const sections = await response.json();
                     const existingSections = sections.filter(s => s.courseCode === courseCode && s.yearLevel === yearLevel);
@@ -2490,7 +2503,7 @@ document.addEventListener('DOMContentLoaded', () => {
     async function loadSubjectsTable() {
         let subjects = [];
         try {
-            const response = await fetch('/api/auth/subjects');
+            const response = await catalogFetch('/api/auth/subjects');
             if (response.ok) {
                 subjects = await response.json();
             }
@@ -2620,7 +2633,7 @@ document.addEventListener('DOMContentLoaded', () => {
     async function loadFacultyTable() {
         let facultyList = [];
         try {
-            const response = await fetch('/api/auth/faculty');
+            const response = await catalogFetch('/api/auth/faculty');
             if (response.ok) {
                 facultyList = await response.json();
             }
@@ -2772,7 +2785,7 @@ document.addEventListener('DOMContentLoaded', () => {
     // Function to generate faculty ID automatically
     async function generateFacultyId() {
         try {
-            const response = await fetch('/api/auth/faculty');
+            const response = await catalogFetch('/api/auth/faculty');
             if (response.ok) {
                 const facultyList = await response.json();
                 const nextNumber = facultyList.length + 1;
@@ -2816,7 +2829,7 @@ document.addEventListener('DOMContentLoaded', () => {
 
         let coursesData = [];
         try {
-            const coursesResponse = await fetch('/api/auth/courses');
+            const coursesResponse = await catalogFetch('/api/auth/courses');
             if (coursesResponse.ok) {
                 coursesData = await coursesResponse.json();
             }
@@ -2865,7 +2878,7 @@ document.addEventListener('DOMContentLoaded', () => {
     function showEnrollmentProcessModal(request) {
         const modal = document.getElementById('enrollmentProcessModal');
         let coursesData = [];
-        fetch('/api/auth/courses')
+        catalogFetch('/api/auth/courses')
             .then(res => res.ok ? res.json() : [])
             .then(data => {
                 coursesData = data;
@@ -2945,7 +2958,8 @@ document.addEventListener('DOMContentLoaded', () => {
                 loadStudentsTable();
                 updateDashboardStats();
             } else {
-                showEnrollmentSuccessModal('Failed to process enrollment request.', true);
+                const errorText = response.status === 409 ? await response.text() : '';
+                showEnrollmentSuccessModal(errorText || 'Failed to process enrollment request.', true);
             }
         } catch (error) {
             console.error('Error processing enrollment request:', error);
@@ -2957,7 +2971,7 @@ document.addEventListener('DOMContentLoaded', () => {
     async function loadCurriculumTable() {
         let curricula = [];
         try {
-            const response = await fetch('/api/curriculum');
+            const response = await catalogFetch('/api/curriculum');
             if (response.ok) {
                 curricula = await response.json();
             }
@@ -3136,7 +3150,7 @@ document.addEventListener('DOMContentLoaded', () => {
         const select = document.getElementById(selectId);
         if (!select) return;
         try {
-            const response = await fetch('/api/auth/courses');
+            const response = await catalogFetch('/api/auth/courses');
             if (response.ok) {
                 const courses = await response.json();
                 select.innerHTML = '<option value="">-- Select Course --</option>';
@@ -3160,7 +3174,7 @@ document.addEventListener('DOMContentLoaded', () => {
         try {
             let url = '/api/auth/subjects';
             if (courseCode) url += `?courseCode=${encodeURIComponent(courseCode)}`;
-            const response = await fetch(url);
+            const response = await catalogFetch(url);
             if (response.ok) {
                 const subjects = await response.json();
                 select.innerHTML = '';
@@ -3184,7 +3198,7 @@ document.addEventListener('DOMContentLoaded', () => {
         try {
             let url = '/api/auth/sections';
             if (courseCode) url += `?courseCode=${encodeURIComponent(courseCode)}`;
-            const response = await fetch(url);
+            const response = await catalogFetch(url);
             if (response.ok) {
                 const sections = await response.json();
                 if (sections.length === 0) {
@@ -3211,7 +3225,7 @@ document.addEventListener('DOMContentLoaded', () => {
         if (!filterSelect) return;
         
         try {
-            const response = await fetch('/api/auth/courses');
+            const response = await catalogFetch('/api/auth/courses');
             if (response.ok) {
                 const courses = await response.json();
                 filterSelect.innerHTML = '<option value="">-- All Courses --</option>';
@@ -3341,7 +3355,7 @@ document.addEventListener('DOMContentLoaded', () => {
         const filterSelect = document.getElementById('curriculumCourseFilter');
         if (!filterSelect) return;
         try {
-            const response = await fetch('/api/auth/courses');
+            const response = await catalogFetch('/api/auth/courses');
             if (response.ok) {
                 const courses = await response.json();
                 filterSelect.innerHTML = '<option value="">-- All Courses --</option>';
@@ -3430,7 +3444,7 @@ document.addEventListener('DOMContentLoaded', () => {
         const select = document.getElementById(selectId);
         if (!select) return;
         try {
-            const response = await fetch('/api/auth/courses');
+            const response = await catalogFetch('/api/auth/courses');
             if (response.ok) {
                 const courses = await response.json();
                 select.innerHTML = '<option value="">-- Select Course --</option>';
@@ -3549,7 +3563,7 @@ document.addEventListener('DOMContentLoaded', () => {
         const select = document.getElementById(selectId);
         if (!select) return;
         try {
-            const response = await fetch('/api/auth/faculty');
+            const response = await catalogFetch('/api/auth/faculty');
             if (response.ok) {
                 const facultyList = await response.json();
                 select.innerHTML = '<option value="">-- Select Faculty --</option>';
@@ -3967,6 +3981,11 @@ async function viewStudentSchedule(studentId, studentName) {
             }
         };
         
+        // One Idempotency-Key per opened form: resubmitting after a timeout cannot post the payment twice
+        const idempotencyKey = window.crypto?.randomUUID
+            ? window.crypto.randomUUID()
+            : Date.now().toString(36) + Math.random().toString(36).slice(2);
+        
         // Handle form submission
         document.getElementById('addPaymentForm').onsubmit = async (e) => {
             e.preventDefault();
@@ -4003,7 +4022,7 @@ async function viewStudentSchedule(studentId, studentName) {
             try {
                 const response = await fetch('/api/auth/account/payment', {
                     method: 'POST',
-                    headers: { 'Content-Type': 'application/json' },
+                    headers: { 'Content-Type': 'application/json', 'Idempotency-Key': idempotencyKey },
                     body: JSON.stringify({
                         studentId: account.studentId,
                         amount: amount,
@@ -4096,7 +4115,7 @@ async function viewStudentSchedule(studentId, studentName) {
             // Fetch and populate sections for the selected course
             bulkSectionSelect.innerHTML = '<option value="">-- All Sections --</option>';
             try {
-                const sectionsResponse = await fetch(`/api/auth/sections?courseCode=${encodeURIComponent(courseSelect.value)}`);
+                const sectionsResponse = await catalogFetch(`/api/auth/sections?courseCode=${encodeURIComponent(courseSelect.value)}`);
                 if (sectionsResponse.ok) {
                     const sections = await sectionsResponse.json();
                     sections.forEach(section => {
@@ -4113,7 +4132,7 @@ async function viewStudentSchedule(studentId, studentName) {
             // Fetch and populate subjects for the selected course
             bulkSubjectSelect.innerHTML = '<option value="">-- Select Subject --</option>';
             try {
-                const response = await fetch(`/api/auth/subjects/by-course?courseCode=${encodeURIComponent(courseSelect.value)}`);
+                const response = await catalogFetch(`/api/auth/subjects/by-course?courseCode=${encodeURIComponent(courseSelect.value)}`);
                 if (response.ok) {
                     const subjects = await response.json();
                     subjects.forEach(subject => {
@@ -4179,7 +4198,7 @@ async function viewStudentSchedule(studentId, studentName) {
                 }
                 
                 try {
-                    const response = await fetch('/api/auth/subjects');
+                    const response = await catalogFetch('/api/auth/subjects');
                     if (response.ok) {
                         const subjects = await response.json();
                         const subj = subjects.find(s => s.code === code);
@@ -4516,7 +4535,7 @@ async function populateCourseDropdown(selectId) {
     if (!select) return;
     select.innerHTML = '<option value="">-- Select Course --</option>';
     try {
-        const response = await fetch('/api/auth/courses');
+        const response = await catalogFetch('/api/auth/courses');
         if (response.ok) {
             const courses = await response.json();
             if (courses.length === 0) {
@@ -4573,7 +4592,7 @@ window.populateScheduleSectionDropdown = async function() {
     const courseFilter = document.getElementById('scheduleCourseFilter');
     if (!sectionSelect) return;
     try {
-        const response = await fetch('/api/auth/sections');
+        const response = await catalogFetch('/api/auth/sections');
         if (response.ok) {
             const sections = await response.json();
             sectionSelect.innerHTML = '<option value="">All Sections</option>';
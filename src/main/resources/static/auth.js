@@ -20,6 +20,24 @@ async function callApi(url, method, data) {
     }
 }
 
+// GET for catalog endpoints (courses, subjects, sections, faculty, curricula).
+// Remembers each URL's ETag and body; on 304 the remembered body is replayed as a normal 200 response.
+const catalogResponses = new Map();
+
+async function catalogFetch(url) {
+    const cached = catalogResponses.get(url);
+    const response = await fetch(url, cached ? { headers: { 'If-None-Match': cached.etag } } : undefined);
+    if (response.status === 304 && cached) {
+        return new Response(cached.body, { status: 200, headers: { 'Content-Type': 'application/json' } });
+    }
+    const etag = response.headers.get('ETag');
+    if (response.ok && etag) {
+        const body = await response.clone().text();
+        catalogResponses.set(url, { etag, body });
+    }
+    return response;
+}
+
 document.addEventListener('DOMContentLoaded', () => {
     // IMPORTANT: If 'initializeData' from data.js was only for populating localStorage
     // and you are now using a backend, you should comment it out or remove it.
@@ -1,13 +1,45 @@
+// Term shown by the schedule view; the dashboard preload asks for the same one
+const SCHEDULE_ACADEMIC_YEAR = '2025-2026';
+const SCHEDULE_SEMESTER = 'First Semester';
+
+// Portal load data from /api/student/dashboard. Each part is handed once to the first loader
+// that asks for it shortly after page load; later refreshes go to the individual endpoints.
+let dashboardPreload = null;
+
+function preloadedFetch(key, url, toBody = value => value) {
+    const fresh = dashboardPreload && Date.now() - dashboardPreload.loadedAt < 60000;
+    if (fresh && key in dashboardPreload.data) {
+        const value = dashboardPreload.data[key];
+        delete dashboardPreload.data[key];
+        return Promise.resolve(value === null && key === 'account'
+            ? new Response(null, { status: 404 })
+            : new Response(JSON.stringify(toBody(value)), { status: 200, headers: { 'Content-Type': 'application/json' } }));
+    }
+    return fetch(url);
+}
+
 document.addEventListener('DOMContentLoaded', async () => {
     const currentUser = checkAuthentication();
     if (!currentUser) return;
 
-    // Fetch student data from backend
+    // Fetch student data from backend: one dashboard request, falling back to the profile alone
     let freshCurrentUser = null;
     try {
-        const response = await fetch(`/api/auth/me?userId=${encodeURIComponent(currentUser.id)}`);
+        const response = await fetch(`/api/student/dashboard/${encodeURIComponent(currentUser.id)}?academicYear=${encodeURIComponent(SCHEDULE_ACADEMIC_YEAR)}&semester=${encodeURIComponent(SCHEDULE_SEMESTER)}`);
         if (response.ok) {
-            freshCurrentUser = await response.json();
+            const dashboard = await response.json();
+            freshCurrentUser = dashboard.user;
+            dashboardPreload = { loadedAt: Date.now(), data: dashboard };
+        }
+    } catch (e) {
+        console.error("Failed to fetch student dashboard from backend:", e);
+    }
+    try {
+        if (!freshCurrentUser) {
+            const response = await fetch(`/api/auth/me?userId=${encodeURIComponent(currentUser.id)}`);
+            if (response.ok) {
+                freshCurrentUser = await response.json();
+            }
         }
     } catch (e) {
         console.error("Failed to fetch student data from backend:", e);
@@ -30,97 +62,31 @@ document.addEventListener('DOMContentLoaded', async () => {
         // Restore original one-time modal logic with debug logs
         checkForEnrollmentApprovalWithDebug(freshCurrentUser);
         
-        // Set up auto-refresh for enrollment section
-        let enrollmentRefreshInterval = null;
-        let accountsRefreshInterval = null;
-        let scheduleRefreshInterval = null;
-        let gradesRefreshInterval = null;
-        
-        // Function to start auto-refresh for enrollment
-        function startEnrollmentAutoRefresh() {
-            if (enrollmentRefreshInterval) {
-                clearInterval(enrollmentRefreshInterval);
-            }
-            enrollmentRefreshInterval = setInterval(() => {
-                const enrollmentSection = document.getElementById('enrollment');
-                if (enrollmentSection && enrollmentSection.classList.contains('active')) {
-                    loadEnrollmentData(freshCurrentUser);
-                }
-            }, 30000); // Refresh every 30 seconds
-        }
-        
-        // Function to start auto-refresh for accounts
-        function startAccountsAutoRefresh() {
-            if (accountsRefreshInterval) {
-                clearInterval(accountsRefreshInterval);
-            }
-            accountsRefreshInterval = setInterval(() => {
-                const accountsSection = document.getElementById('accounts');
-                if (accountsSection && accountsSection.classList.contains('active')) {
-                    loadAccountsData(freshCurrentUser.id);
-                }
-            }, 15000); // Refresh every 15 seconds for accounts
-        }
-        
-        // Function to start auto-refresh for schedule
-        function startScheduleAutoRefresh() {
-            if (scheduleRefreshInterval) {
-                clearInterval(scheduleRefreshInterval);
-            }
-            scheduleRefreshInterval = setInterval(() => {
-                const scheduleSection = document.getElementById('schedule');
-                if (scheduleSection && scheduleSection.classList.contains('active')) {
-                    loadScheduleData(freshCurrentUser);
-                }
-            }, 20000); // Refresh every 20 seconds for schedule
-        }
-        
-        // Function to start auto-refresh for grades
-        function startGradesAutoRefresh() {
-            if (gradesRefreshInterval) {
-                clearInterval(gradesRefreshInterval);
-            }
-            gradesRefreshInterval = setInterval(() => {
-                const gradesSection = document.getElementById('grades');
-                if (gradesSection && gradesSection.classList.contains('active')) {
-                    loadGradesData(freshCurrentUser);
-                }
-            }, 15000); // Refresh every 15 seconds for grades
-        }
-        
-        // Function to stop auto-refresh
-        function stopEnrollmentAutoRefresh() {
-            if (enrollmentRefreshInterval) {
-                clearInterval(enrollmentRefreshInterval);
-                enrollmentRefreshInterval = null;
-            }
-        }
-
-        // Function to stop accounts auto-refresh
-        function stopAccountsAutoRefresh() {
-            if (accountsRefreshInterval) {
-                clearInterval(accountsRefreshInterval);
-                accountsRefreshInterval = null;
-            }
-        }
-        
-        // Function to stop schedule auto-refresh
-        function stopScheduleAutoRefresh() {
-            if (scheduleRefreshInterval) {
-                clearInterval(scheduleRefreshInterval);
-                scheduleRefreshInterval = null;
-            }
-        }
-        
-        // Function to stop grades auto-refresh
-        function stopGradesAutoRefresh() {
-            if (gradesRefreshInterval) {
-                clearInterval(gradesRefreshInterval);
-                gradesRefreshInterval = null;
-            }
-        }
+        // Live updates: the server pushes an event when something for this student changes,
+        // and the matching view is reloaded if it is open (replaces the old polling intervals)
+        const sectionIsActive = (id) => {
+            const section = document.getElementById(id);
+            return section && section.classList.contains('active');
+        };
+        const studentEvents = new EventSource(`/api/student/events/${encodeURIComponent(freshCurrentUser.id)}`);
+        studentEvents.addEventListener('inbox', () => {
+            if (sectionIsActive('home')) loadHomeData(freshCurrentUser);
+        });
+        studentEvents.addEventListener('grades', () => {
+            if (sectionIsActive('grades')) loadGradesData(freshCurrentUser);
+        });
+        studentEvents.addEventListener('account', () => {
+            if (sectionIsActive('accounts')) loadAccountsData(freshCurrentUser.id);
+        });
+        studentEvents.addEventListener('enrollment', () => {
+            if (sectionIsActive('home')) loadHomeData(freshCurrentUser);
+            if (sectionIsActive('enrollment')) loadEnrollmentData(freshCurrentUser);
+            if (sectionIsActive('schedule')) loadScheduleData(freshCurrentUser);
+            if (sectionIsActive('accounts')) loadAccountsData(freshCurrentUser.id);
+        });
+        window.addEventListener('beforeunload', () => studentEvents.close());
         
-        // Modify the nav link click handler to manage auto-refresh
+        // Nav link click handler
         navLinks.forEach(link => {
             link.addEventListener('click', (e) => {
                 e.preventDefault();
@@ -133,34 +99,6 @@ document.addEventListener('DOMContentLoaded', async () => {
                 if (targetSection && freshCurrentUser) {
                     targetSection.classList.add('active');
                     loadSectionData(targetSectionId, freshCurrentUser);
-                    
-                    // Start auto-refresh for enrollment section
-                    if (targetSectionId === 'enrollment') {
-                        startEnrollmentAutoRefresh();
-                    } else {
-                        stopEnrollmentAutoRefresh();
-                    }
-                    
-                    // Start auto-refresh for accounts section
-                    if (targetSectionId === 'accounts') {
-                        startAccountsAutoRefresh();
-                    } else {
-                        stopAccountsAutoRefresh();
-                    }
-                    
-                    // Start auto-refresh for schedule section
-                    if (targetSectionId === 'schedule') {
-                        startScheduleAutoRefresh();
-                    } else {
-                        stopScheduleAutoRefresh();
-                    }
-                    
-                    // Start auto-refresh for grades section
-                    if (targetSectionId === 'grades') {
-                        startGradesAutoRefresh();
-                    } else {
-                        stopGradesAutoRefresh();
-                    }
                 }
             });
         });
@@ -278,7 +216,7 @@ document.addEventListener('DOMContentLoaded', async () => {
     // Function to check for enrollment approval and show congratulations modal
     async function checkForEnrollmentApproval(student) {
         try {
-            const response = await fetch(`/api/student/enrollment/requests/${student.id}`);
+            const response = await preloadedFetch('enrollmentRequests', `/api/student/enrollment/requests/${student.id}`);
             if (response.ok) {
                 const requests = await response.json();
                 const approvedRequest = requests.find(req => req.status === 'approved');
@@ -306,7 +244,7 @@ document.addEventListener('DOMContentLoaded', async () => {
     async function checkForEnrollmentApprovalWithDebug(student) {
         try {
             console.log('[DEBUG] Checking for enrollment approval for:', student.id, student.status);
-            const response = await fetch(`/api/student/enrollment/requests/${student.id}`);
+            const response = await preloadedFetch('enrollmentRequests', `/api/student/enrollment/requests/${student.id}`);
             if (response.ok) {
                 const requests = await response.json();
                 const approvedRequest = requests.find(req => req.status === 'approved');
@@ -342,12 +280,21 @@ document.addEventListener('DOMContentLoaded', async () => {
     }
 
     async function loadHomeData(student) {
+        // First inbox page (newest first) and the server-side unread counter
         let messages = [];
+        let hasMoreMessages = false;
+        let unreadCount = null;
         try {
-            const response = await fetch(`/api/student/inbox/${student.id}`);
+            const response = await preloadedFetch('inbox', `/api/student/inbox/${student.id}/page`);
             if (response.ok) {
-                messages = await response.json();
-                messages = messages.sort((a,b) => new Date(b.timestamp).getTime() - new Date(a.timestamp).getTime());
+                const page = await response.json();
+                messages = page.items || [];
+                hasMoreMessages = page.hasMore;
+            }
+            const countResponse = await preloadedFetch('unreadCount', `/api/student/inbox/${student.id}/unread-count`,
+                unread => ({ studentId: student.id, unread }));
+            if (countResponse.ok) {
+                unreadCount = (await countResponse.json()).unread;
             }
         } catch (e) {
             console.error('Failed to fetch inbox from backend:', e);
@@ -355,7 +302,7 @@ document.addEventListener('DOMContentLoaded', async () => {
         const inboxCountEl = document.getElementById('inboxCount');
         const inboxMessagesEl = document.getElementById('inboxMessages');
 
-        if (inboxCountEl) inboxCountEl.textContent = messages.filter(m => !m.isRead).length;
+        if (inboxCountEl) inboxCountEl.textContent = unreadCount ?? messages.filter(m => !m.isRead).length;
 
         if (inboxMessagesEl) {
             inboxMessagesEl.innerHTML = '';
@@ -391,7 +338,7 @@ document.addEventListener('DOMContentLoaded', async () => {
                     alert(`Message from: System\nDate: ${dateStr || 'No Date'}\nSubject: ${msg.subject}\n\n${msg.content}`);
                     // Mark as read in backend
                     if (!msg.isRead && msg.id) {
-                        await fetch(`/api/student/inbox/read/${msg.id}`, { method: 'PUT' });
+                        await fetch(`/api/student/inbox/read/${msg.id}?studentId=${encodeURIComponent(student.id)}`, { method: 'PUT' });
                     }
                     loadHomeData(student);
                 };
@@ -411,7 +358,7 @@ document.addEventListener('DOMContentLoaded', async () => {
             });
             table.appendChild(tbody);
             inboxMessagesEl.appendChild(table);
-            if (messages.length > 5) {
+            if (messages.length > 5 || hasMoreMessages) {
                 const viewAllLink = document.createElement('a');
                 viewAllLink.href = "#";
                 viewAllLink.textContent = "View all messages...";
@@ -457,7 +404,7 @@ document.addEventListener('DOMContentLoaded', async () => {
         try {
             const url = '/api/auth/courses';
             console.log('[DEBUG] Fetching courses:', url);
-            const response = await fetch(url);
+            const response = await catalogFetch(url);
             console.log('[DEBUG] Courses fetch status:', response.status);
             if (response.ok) {
                 courses = await response.json();
@@ -743,7 +690,7 @@ document.addEventListener('DOMContentLoaded', async () => {
         }
         
         try {
-            const response = await fetch(`/api/student/account/${studentId}`);
+            const response = await preloadedFetch('account', `/api/student/account/${studentId}`);
             if (response.ok) {
                 account = await response.json();
             }
@@ -848,9 +795,9 @@ document.addEventListener('DOMContentLoaded', async () => {
         let scheduleItems = [];
         try {
             // Use 2025-2026 academic year to match enrollment form
-            const academicYear = '2025-2026';
-            const semester = 'First Semester';
-            const response = await fetch(`/api/student/schedule/${student.id}?academicYear=${academicYear}&semester=${semester}`);
+            const academicYear = SCHEDULE_ACADEMIC_YEAR;
+            const semester = SCHEDULE_SEMESTER;
+            const response = await preloadedFetch('schedule', `/api/student/schedule/${student.id}?academicYear=${academicYear}&semester=${semester}`);
             if (response.ok) {
                 scheduleItems = await response.json();
             }
@@ -915,7 +862,7 @@ document.addEventListener('DOMContentLoaded', async () => {
         // Fetch all grades for the student (for dropdown population)
         let allGrades = [];
         try {
-            const allGradesResponse = await fetch(`/api/student/grades/${student.id}`);
+            const allGradesResponse = await preloadedFetch('grades', `/api/student/grades/${student.id}`);
             if (allGradesResponse.ok) {
                 allGrades = await allGradesResponse.json();
             }
@@ -1042,7 +989,8 @@ document.addEventListener('DOMContentLoaded', async () => {
                     termGPA = termGPAData.termGPA;
                 }
             }
-            const cumulativeGPAResponse = await fetch(`/api/student/grades/${student.id}/cumulative-gpa`);
+            const cumulativeGPAResponse = await preloadedFetch('cumulativeGPA', `/api/student/grades/${student.id}/cumulative-gpa`,
+                gpa => ({ studentId: student.id, cumulativeGPA: gpa ?? 0.0 }));
             if (cumulativeGPAResponse.ok) {
                 const cumulativeGPAData = await cumulativeGPAResponse.json();
                 cumulativeGPA = cumulativeGPAData.cumulativeGPA;
@@ -1121,7 +1069,7 @@ document.addEventListener('DOMContentLoaded', async () => {
         // Before rendering the grades table, fetch all subjects for lookup
         let allSubjects = [];
         try {
-            const subjRes = await fetch('/api/auth/subjects');
+            const subjRes = await catalogFetch('/api/auth/subjects');
             if (subjRes.ok) allSubjects = await subjRes.json();
         } catch {}
         const { rows: gpaRows, overallGpa } = calculateGPA(grades, allSubjects);
@@ -1191,7 +1139,7 @@ document.addEventListener('DOMContentLoaded', async () => {
     async function loadFormsData(studentId) {
         let forms = [];
         try {
-            const response = await fetch(`/api/student/forms/${studentId}`);
+            const response = await preloadedFetch('forms', `/api/student/forms/${studentId}`);
             if (response.ok) {
                 forms = await response.json();
             }
@@ -1234,9 +1182,9 @@ document.addEventListener('DOMContentLoaded', async () => {
     async function loadInboxData(studentId) {
         let messages = [];
         try {
-            const response = await fetch(`/api/student/inbox/${studentId}`);
+            const response = await preloadedFetch('inbox', `/api/student/inbox/${studentId}/page`);
             if (response.ok) {
-                messages = await response.json();
+                messages = (await response.json()).items || [];
             }
         } catch (e) {
             console.error('Failed to fetch inbox from backend:', e);
@@ -1253,7 +1201,7 @@ document.addEventListener('DOMContentLoaded', async () => {
         }
         try {
             // Fetch all curriculums for the student's course
-            const response = await fetch(`/api/curriculum/by-course?courseCode=${encodeURIComponent(student.course)}`);
+            const response = await catalogFetch(`/api/curriculum/by-course?courseCode=${encodeURIComponent(student.course)}`);
             let curricula = [];
             if (response.ok) {
                 curricula = await response.json();
@@ -1265,7 +1213,7 @@ document.addEventListener('DOMContentLoaded', async () => {
             // Fetch all subjects for mapping
             let subjectsMap = {};
             try {
-                const subjResp = await fetch('/api/auth/subjects');
+                const subjResp = await catalogFetch('/api/auth/subjects');
                 if (subjResp.ok) {
                     const subjects = await subjResp.json();
                     subjectsMap = Object.fromEntries(subjects.map(s => [s.code, s]));